@@ -0,0 +1,49 @@
+package com.concurrent_web_crawler.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+final class Corpus {
+    private Corpus() {}
+
+    private static final String[] WORDS = {
+            "Lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "Java", "Spring",
+            "crawler", "thread", "virtual", "Concurrent", "page", "the", "of", "and", "<b>bold</b>", "&amp;"
+    };
+
+    /**
+     * Deterministic HTML page of roughly {@code size} chars with paragraphs, links and
+     * markup; {@code needle} is planted at the relative position {@code at} (negative: absent).
+     */
+    static String syntheticPage(int size, double at, String needle) {
+        var rnd = new SplittableRandom(42);
+        var sb = new StringBuilder(size + 256);
+        sb.append("<!DOCTYPE html><html><head><title>Synthetic</title>")
+          .append("<style>body{font-family:sans-serif}</style></head><body>\n");
+        int planted = at < 0 ? -1 : (int) (size * at);
+        int link = 0;
+        while (sb.length() < size) {
+            if (planted >= 0 && sb.length() >= planted) {
+                sb.append("<p>").append(needle).append("</p>\n");
+                planted = -1;
+            }
+            sb.append("<p class=\"para\">");
+            for (int i = 0; i < 40; i++) sb.append(WORDS[rnd.nextInt(WORDS.length)]).append(' ');
+            sb.append("<a href=\"/articles/").append(link++).append(".html\">read more</a></p>\n");
+        }
+        return sb.append("</body></html>").toString();
+    }
+
+    /** Loads one of the captured pages under {@code src/jmh/resources/corpus}. */
+    static String load(String name) {
+        try (InputStream in = Corpus.class.getResourceAsStream("/corpus/" + name)) {
+            if (in == null) throw new IllegalArgumentException("No corpus page " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.infra.cache.CrawlStateRegistry;
+import com.concurrent_web_crawler.crawler.infra.cache.CrawlStateRegistryProperties;
+import com.concurrent_web_crawler.crawler.infra.cache.PageCache;
+import com.concurrent_web_crawler.crawler.infra.cache.PageCacheProperties;
+import com.concurrent_web_crawler.crawler.infra.cache.PageMetadataStore;
+import com.concurrent_web_crawler.crawler.infra.checkpoint.CheckpointProperties;
+import com.concurrent_web_crawler.crawler.infra.checkpoint.FileCrawlCheckpointStore;
+import com.concurrent_web_crawler.crawler.infra.executor.CrawlJob;
+import com.concurrent_web_crawler.crawler.infra.executor.CrawlLimitsProperties;
+import com.concurrent_web_crawler.crawler.infra.executor.VisitedSetProperties;
+import com.concurrent_web_crawler.crawler.infra.http.FetchProperties;
+import com.concurrent_web_crawler.crawler.infra.http.HostThrottle;
+import com.concurrent_web_crawler.crawler.infra.http.HttpPageFetcher;
+import com.concurrent_web_crawler.crawler.infra.http.PolitenessProperties;
+import com.concurrent_web_crawler.crawler.infra.http.StreamingPageFetcher;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndexProperties;
+import com.concurrent_web_crawler.crawler.infra.metrics.CrawlMetrics;
+import com.concurrent_web_crawler.crawler.repository.CrawlRequestRepository;
+import com.concurrent_web_crawler.crawler.service.CrawlCacheService;
+import com.concurrent_web_crawler.crawler.service.CrawlService;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import com.concurrent_web_crawler.shared.config.WebConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: starts N concurrent crawls through CrawlService against
+ * a local {@link SyntheticSiteServer} and reports crawl throughput, time to
+ * done and peak heap/thread usage. The crawl pipeline is the production one
+ * (CrawlJob, PageCache, HttpPageFetcher, host throttle); only the database,
+ * Redis, site index and checkpoints are left out, so it runs offline.
+ * <p>
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.main=com.concurrent_web_crawler.bench.CrawlLoadTest
+ * -Djmh.args="--crawls 16 --pages 5000 --latency 20ms"}; see {@link #DEFAULTS} for every option.
+ * Exits with 1 if a crawl did not finish within {@code --timeout}.
+ */
+public final class CrawlLoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("crawls", "8"),
+            Map.entry("pages", "2000"),
+            Map.entry("fan-out", "8"),
+            Map.entry("page-size", "16384"),
+            Map.entry("latency", "10ms"),
+            Map.entry("latency-p99", "80ms"),
+            Map.entry("slow-rate", "0.01"),
+            Map.entry("slow-latency", "1s"),
+            Map.entry("error-rate", "0.01"),
+            Map.entry("keyword-density", "0.05"),
+            Map.entry("max-pages", "10000"),
+            Map.entry("max-results", "1000"),
+            Map.entry("max-in-flight", "64"),
+            Map.entry("connections", "64"),
+            Map.entry("timeout", "5m")
+    );
+
+    private CrawlLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        int crawls = Integer.parseInt(opts.get("crawls"));
+        List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < crawls; i++) keywords.add("needle" + i + "z");
+
+        var spec = new SyntheticSiteServer.Spec(
+                Integer.parseInt(opts.get("pages")), Integer.parseInt(opts.get("fan-out")),
+                Integer.parseInt(opts.get("page-size")), duration(opts.get("latency")), duration(opts.get("latency-p99")),
+                Double.parseDouble(opts.get("slow-rate")), duration(opts.get("slow-latency")),
+                Double.parseDouble(opts.get("error-rate")), Double.parseDouble(opts.get("keyword-density")), keywords);
+
+        try (var site = new SyntheticSiteServer(spec); var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var registry = new CrawlStateRegistry(new ConcurrentMapCacheManager(), new CrawlStateRegistryProperties());
+            CrawlService service = wire(site.baseUrl(), opts, executor, registry);
+
+            var heap = ManagementFactory.getMemoryMXBean();
+            var threads = ManagementFactory.getThreadMXBean();
+            System.gc();
+            long baselineHeap = heap.getHeapMemoryUsage().getUsed();
+            var peakHeap = new AtomicLong(baselineHeap);
+            var peakThreads = new AtomicLong(threads.getThreadCount());
+            var sampling = new AtomicBoolean(true);
+            Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+                while (sampling.get()) {
+                    peakHeap.accumulateAndGet(heap.getHeapMemoryUsage().getUsed(), Math::max);
+                    peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException ie) {
+                        return;
+                    }
+                }
+            });
+
+            int maxPages = Integer.parseInt(opts.get("max-pages"));
+            int maxResults = Integer.parseInt(opts.get("max-results"));
+            var limits = new CrawlLimitsProperties().resolve(maxPages, maxResults);
+            long[] doneNanos = new long[crawls];
+            String[] ids = new String[crawls];
+            var finished = new CountDownLatch(crawls);
+            long start = System.nanoTime();
+            for (int i = 0; i < crawls; i++) {
+                int n = i;
+                ids[i] = service.start(keywords.get(i), limits).id();
+                var once = new AtomicBoolean();
+                Runnable onDone = () -> {
+                    if (once.compareAndSet(false, true)) {
+                        doneNanos[n] = System.nanoTime() - start;
+                        finished.countDown();
+                    }
+                };
+                registry.active(ids[i]).ifPresentOrElse(s -> s.subscribe(() -> {
+                    if (s.done()) onDone.run();
+                }), onDone);
+            }
+            boolean completed = finished.await(duration(opts.get("timeout")).toMillis(), TimeUnit.MILLISECONDS);
+            long wall = System.nanoTime() - start;
+            sampling.set(false);
+            sampler.join();
+
+            long visited = 0;
+            long results = 0;
+            for (String id : ids) {
+                var state = registry.get(id).orElseThrow();
+                visited += state.visitedCount();
+                results += state.results().size();
+            }
+            double seconds = wall / 1e9;
+            long[] sorted = Arrays.stream(doneNanos).filter(t -> t > 0).sorted().toArray();
+            System.out.printf("site           %s pages, fan-out %s, %s B/page, latency p50 %s / p99 %s, %s slow, %s errors%n",
+                    opts.get("pages"), opts.get("fan-out"), opts.get("page-size"), opts.get("latency"),
+                    opts.get("latency-p99"), opts.get("slow-rate"), opts.get("error-rate"));
+            System.out.printf("crawls         %d started, %d finished in %.2f s%n", crawls, sorted.length, seconds);
+            System.out.printf("pages crawled  %d (%.1f pages/s), %d results%n", visited, visited / seconds, results);
+            System.out.printf("http requests  %d (%.1f req/s), %d errors, %.1f MB%n", site.served() + site.failed(),
+                    (site.served() + site.failed()) / seconds, site.failed(), site.bytes() / 1e6);
+            System.out.printf("time to done   p50 %d ms, p99 %d ms, max %d ms%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+            System.out.printf("peak heap      %.1f MB (baseline %.1f MB)%n", peakHeap.get() / 1e6, baselineHeap / 1e6);
+            System.out.printf("peak threads   %d platform threads%n", peakThreads.get());
+            if (!completed) {
+                System.out.println("TIMEOUT: " + (crawls - sorted.length) + " crawls still running");
+                System.exit(1);
+            }
+            System.exit(0);
+        }
+    }
+
+    private static CrawlService wire(String baseUrl, Map<String, String> opts, ExecutorService executor, CrawlStateRegistry registry) {
+        var fetch = new FetchProperties();
+        fetch.setRevalidate(false);
+        fetch.setHttpVersion(HttpClient.Version.HTTP_1_1);
+        var politeness = new PolitenessProperties();
+        politeness.setRequestsPerSecond(1_000_000);
+        politeness.setMaxConcurrentPerHost(Integer.parseInt(opts.get("connections")));
+        var indexProps = new SiteIndexProperties();
+        indexProps.setEnabled(false);
+        var checkpointProps = new CheckpointProperties();
+        checkpointProps.setEnabled(false);
+
+        var canonicalizer = new UrlCanonicalizer(baseUrl);
+        HttpClient client = new WebConfig().crawlerHttpClient(fetch, executor);
+        var throttle = new HostThrottle(politeness);
+        var siteIndex = new SiteIndex(indexProps);
+        var metrics = CrawlMetrics.standalone();
+        var pageCache = new PageCache(new HttpPageFetcher(client, throttle, politeness, fetch, canonicalizer, executor, metrics),
+                siteIndex, new PageMetadataStore(null, fetch), new PageCacheProperties(), executor);
+        var checkpoints = new FileCrawlCheckpointStore(checkpointProps, executor);
+        var job = new CrawlJob(pageCache, new StreamingPageFetcher(client, throttle, politeness, canonicalizer, fetch, metrics),
+                fetch, siteIndex, executor, canonicalizer, checkpoints, metrics);
+        ReflectionTestUtils.setField(job, "maxInFlight", Integer.parseInt(opts.get("max-in-flight")));
+
+        // no database: crawl requests are accepted and their bookkeeping dropped
+        var requests = (CrawlRequestRepository) Proxy.newProxyInstance(CrawlLoadTest.class.getClassLoader(),
+                new Class<?>[]{CrawlRequestRepository.class}, (_, method, methodArgs) -> switch (method.getName()) {
+                    case "save" -> methodArgs[0];
+                    case "findByStatus" -> List.of();
+                    default -> method.getReturnType() == Optional.class ? Optional.empty() : null;
+                });
+
+        return new CrawlService(job, new ConcurrentMapCacheManager(), new CrawlCacheService(requests), new ObjectMapper(),
+                pageCache, siteIndex, new VisitedSetProperties(), new CrawlLimitsProperties(), checkpoints,
+                checkpointProps, registry);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>(DEFAULTS);
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i].startsWith("--") ? args[i].substring(2) : args[i];
+            if (!DEFAULTS.containsKey(key) || i + 1 == args.length) {
+                throw new IllegalArgumentException("Unknown option or missing value: " + args[i] + "; options: " + DEFAULTS.keySet());
+            }
+            opts.put(key, args[++i]);
+        }
+        return opts;
+    }
+
+    // "250ms", "2s", "5m" or ISO-8601
+    private static Duration duration(String s) {
+        if (s.endsWith("ms")) return Duration.ofMillis(Long.parseLong(s.substring(0, s.length() - 2)));
+        if (s.endsWith("s")) return Duration.ofSeconds(Long.parseLong(s.substring(0, s.length() - 1)));
+        if (s.endsWith("m")) return Duration.ofMinutes(Long.parseLong(s.substring(0, s.length() - 1)));
+        return Duration.parse(s);
+    }
+
+    private static long percentile(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, rank)]);
+    }
+}
@@ -0,0 +1,94 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.util.BloomVisitedSet;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-URL bookkeeping CrawlJob does on one shared CrawlState, with every
+ * thread hammering the same visited set, budget and frontier: claiming a
+ * polled URL, and enqueueing a discovered link followed by a poll. URLs come
+ * from a fixed pool, so once each thread has gone through it claims turn into
+ * duplicate hits as on a real site. Override the thread count with {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CrawlStateBenchmark {
+
+    private static final int POOL = 1 << 17;
+
+    @Param({"fingerprint", "bloom"})
+    public String visited;
+
+    private String[] urls;
+    private CrawlState state;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        @Setup
+        public void setup() {
+            next = (int) (Thread.currentThread().threadId() * 7919);
+        }
+
+        String url(String[] urls) {
+            return urls[next++ & (POOL - 1)];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void pool() {
+        urls = new String[POOL];
+        for (int i = 0; i < POOL; i++) urls[i] = "https://example.org/section-" + (i % 97) + "/article-" + i + ".html";
+    }
+
+    @Setup(Level.Iteration)
+    public void state() {
+        var set = visited.equals("bloom") ? new BloomVisitedSet(10_000, 0.001) : new FingerprintVisitedSet();
+        var limits = new CrawlLimits(Integer.MAX_VALUE, 100, Integer.MAX_VALUE);
+        state = new CrawlState("bench", "security", set, limits, null);
+    }
+
+    @Benchmark
+    public boolean claim(Cursor cursor) {
+        var budget = state.getBudget();
+        budget.releaseFrontierSlot();
+        return state.getVisited().add(cursor.url(urls)) && budget.tryReservePage();
+    }
+
+    @Benchmark
+    public PriorityFrontier.Entry enqueueAndPoll(Cursor cursor) {
+        String url = cursor.url(urls);
+        var budget = state.getBudget();
+        if (!state.getVisited().contains(url) && budget.tryReserveFrontierSlot()) {
+            int priority = PriorityFrontier.priority(3, (cursor.next & 1) == 0, false, state.getMatcher().matches(url));
+            state.getFrontier().offer(new PriorityFrontier.Entry(url, 3), priority);
+        }
+        var polled = state.getFrontier().poll();
+        if (polled != null) budget.releaseFrontierSlot();
+        return polled;
+    }
+}
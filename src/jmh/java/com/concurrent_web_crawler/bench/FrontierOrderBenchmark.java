@@ -0,0 +1,94 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.KeywordMatcher;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages fetched until the first N results on a synthetic site, crawling it the
+ * way CrawlJob does with a FIFO frontier versus the priority frontier. The
+ * {@code pagesFetched} counter (summed over the measurement iterations) is the
+ * number to compare; the time is only the in-memory traversal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FrontierOrderBenchmark {
+
+    private static final String KEYWORD = "security";
+
+    @Param({"fifo", "priority"})
+    public String order;
+
+    @Param({"100"})
+    public int results;
+
+    private SyntheticSite site;
+    private KeywordMatcher matcher;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long pagesFetched;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            pagesFetched = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        site = new SyntheticSite(KEYWORD, 300, 0.7, 0.005);
+        matcher = KeywordMatcher.compile(KEYWORD);
+    }
+
+    @Benchmark
+    public int crawlToFirstResults(Counters counters) {
+        var frontier = new PriorityFrontier();
+        var visited = new FingerprintVisitedSet();
+        boolean prioritize = order.equals("priority");
+        frontier.add(new PriorityFrontier.Entry(SyntheticSite.ROOT, 0));
+        int found = 0;
+        int fetched = 0;
+        for (var entry = frontier.poll(); entry != null && found < results; entry = frontier.poll()) {
+            if (!visited.add(entry.url())) continue;
+            FetchedPage page = site.fetch(entry.url());
+            fetched++;
+            if (page == null) continue;
+            boolean matched = matcher.matches(page.content());
+            if (matched) found++;
+            List<String> links = page.links();
+            for (int i = 0; i < links.size(); i++) {
+                String link = links.get(i);
+                if (visited.contains(link)) continue;
+                int priority = prioritize
+                        ? PriorityFrontier.priority(entry.depth() + 1, matched, matcher.matches(page.anchor(i)), matcher.matches(link))
+                        : 0;
+                frontier.offer(new PriorityFrontier.Entry(link, entry.depth() + 1), priority);
+            }
+        }
+        counters.pagesFetched = fetched;
+        return found;
+    }
+}
@@ -0,0 +1,69 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.util.HtmlUrlUtils;
+import com.concurrent_web_crawler.crawler.util.KeywordMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Case-insensitive keyword search over a page: the original
+ * toLowerCase().contains() against the precompiled BMH matcher on chars and on
+ * raw bytes. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordMatchBenchmark {
+
+    @Param({"early", "late", "absent"})
+    public String position;
+
+    @Param({"65536"})
+    public int pageSize;
+
+    private final String keyword = "security";
+    private String html;
+    private byte[] bytes;
+    private KeywordMatcher matcher;
+
+    @Setup
+    public void setup() {
+        html = Corpus.syntheticPage(pageSize, switch (position) {
+            case "early" -> 0.05;
+            case "late" -> 0.95;
+            default -> -1;
+        }, "SeCuRiTy");
+        bytes = html.getBytes(StandardCharsets.UTF_8);
+        matcher = KeywordMatcher.compile(keyword);
+    }
+
+    @Benchmark
+    public boolean lowerCaseContains() {
+        return HtmlUrlUtils.containsKeyword(html, keyword);
+    }
+
+    @Benchmark
+    public boolean matcherOnString() {
+        return matcher.matches(html);
+    }
+
+    @Benchmark
+    public boolean matcherOnBytes() {
+        return matcher.indexIn(bytes, 0, bytes.length) >= 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.util.KeywordUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Keyword validation and normalization as done on every POST /crawl. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordNormalizeBenchmark {
+
+    @Param({"security", "  Spring   Boot\tSecurity "})
+    public String keyword;
+
+    @Benchmark
+    public String normalize() {
+        return KeywordUtils.normalize(keyword);
+    }
+}
@@ -0,0 +1,41 @@
+package com.concurrent_web_crawler.bench;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** The regex-based extractor HtmlUrlUtils used before the tokenizer, kept as a baseline. */
+final class LegacyLinkExtractor {
+    private LegacyLinkExtractor() {}
+
+    static final Pattern LINK_PATTERN = Pattern.compile(
+            "<a\\s+[^>]*?href\\s*=\\s*['\"][^'\"]+['\"][^>]*>",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    static Set<String> extractLinks(String html) {
+        Set<String> links = new HashSet<>();
+        Matcher m = LINK_PATTERN.matcher(html);
+        while (m.find()) {
+            String href = m.group(0);
+            int start = href.toLowerCase().indexOf("href");
+            if (start >= 0) {
+                int q1 = href.indexOf('"', start);
+                int q2 = href.indexOf('\'', start);
+                int open = (q1 == -1 || (q2 != -1 && q2 < q1)) ? q2 : q1;
+                if (open != -1) {
+                    char quote = href.charAt(open);
+                    int close = href.indexOf(quote, open + 1);
+                    if (close > open + 1) {
+                        String v = href.substring(open + 1, close).trim();
+                        if (!v.isEmpty() && !v.startsWith("#") && !v.startsWith("javascript:") && !v.startsWith("mailto:")) {
+                            links.add(v);
+                        }
+                    }
+                }
+            }
+        }
+        return links;
+    }
+}
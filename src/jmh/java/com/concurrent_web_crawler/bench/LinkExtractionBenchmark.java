@@ -0,0 +1,62 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.util.HtmlLinkTokenizer;
+import com.concurrent_web_crawler.crawler.util.HtmlUrlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Link extraction over the captured corpus pages: the old LINK_PATTERN regex,
+ * HtmlUrlUtils.extractLinks on the tokenizer, and a reused tokenizer that only
+ * counts hrefs (the per-page cost without building a set).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkExtractionBenchmark {
+
+    @Param({"news-index.html", "blog-article.html", "docs-page.html", "shop-listing.html"})
+    public String page;
+
+    private String html;
+    private int count;
+    private final HtmlLinkTokenizer tokenizer = new HtmlLinkTokenizer(_ -> count++);
+
+    @Setup
+    public void setup() {
+        html = Corpus.load(page);
+    }
+
+    @Benchmark
+    public Set<String> legacyRegex() {
+        return LegacyLinkExtractor.extractLinks(html);
+    }
+
+    @Benchmark
+    public Set<String> tokenizer() {
+        return HtmlUrlUtils.extractLinks(html);
+    }
+
+    @Benchmark
+    public int tokenizerReused() {
+        count = 0;
+        tokenizer.reset();
+        tokenizer.feed(html);
+        return count;
+    }
+}
@@ -0,0 +1,64 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.infra.metrics.CrawlMetrics;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What CrawlMetrics adds per crawled page: one fetch (in-flight gauge, latency
+ * timer by host and status, bytes), one parse and the dedupe checks for the
+ * page's links. {@code noop} is a registry without backends, i.e. the cost of
+ * the calls alone; {@code prometheus} is what the application records into.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final URI PAGE = URI.create("https://example.org/docs/intro");
+
+    @Param({"noop", "prometheus"})
+    public String registry;
+
+    @Param({"30"})
+    public int linksPerPage;
+
+    private CrawlMetrics metrics;
+
+    @Setup
+    public void setup() {
+        var meters = registry.equals("prometheus")
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        metrics = new CrawlMetrics(meters, ObservationRegistry.NOOP);
+    }
+
+    @Benchmark
+    public void perPage() {
+        metrics.fetchStarted();
+        metrics.fetchCompleted(PAGE, 200, 12_000_000, 24_576);
+        metrics.parsed(180_000, linksPerPage);
+        for (int i = 0; i < linksPerPage; i++) metrics.dedupe((i & 3) != 0);
+    }
+}
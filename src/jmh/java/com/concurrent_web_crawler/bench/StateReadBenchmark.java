@@ -0,0 +1,72 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.dto.CrawlResponse;
+import com.concurrent_web_crawler.crawler.dto.CrawlSnapshot;
+import com.concurrent_web_crawler.crawler.dto.CrawlStateDto;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What one poll of GET /crawl/{id} costs on a crawl midway through: building
+ * the full CrawlStateDto (results, visited count and frontier copied) against
+ * the result snapshot, in full and from a cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateReadBenchmark {
+
+    @Param({"1000", "10000"})
+    public int frontierSize;
+
+    @Param({"100"})
+    public int results;
+
+    private CrawlState state;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        state = new CrawlState("bench", "security", new FingerprintVisitedSet(),
+                new CrawlLimits(100_000, results + 1, 100_000), null);
+        for (int i = 0; i < frontierSize * 2; i++) state.getVisited().add("https://example.org/p/" + i);
+        for (int i = 0; i < frontierSize; i++) {
+            state.getFrontier().offer(new PriorityFrontier.Entry("https://example.org/q/" + i, 2), i % 7);
+        }
+        for (int i = 0; i < results; i++) state.addResult("https://example.org/p/" + i * 13);
+        cursor = results - 5;
+    }
+
+    @Benchmark
+    public CrawlStateDto fullDto() {
+        return CrawlStateDto.from(state);
+    }
+
+    @Benchmark
+    public CrawlResponse snapshot() {
+        return CrawlSnapshot.of(state).since(0);
+    }
+
+    @Benchmark
+    public CrawlResponse snapshotSinceCursor() {
+        return CrawlSnapshot.of(state).since(cursor);
+    }
+}
@@ -0,0 +1,116 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * In-memory site shaped like a typical content site: a home page linking to
+ * topic sections, each section index linking to its articles, and articles
+ * linking to siblings and a few other sections. One topic is dense with the
+ * keyword; elsewhere it only appears sporadically.
+ */
+final class SyntheticSite {
+
+    static final String ROOT = "https://site.test/";
+
+    private static final String[] TOPICS = {
+            "news", "sports", "weather", "travel", "food", "music", "movies", "books", "science", "health",
+            "business", "markets", "cars", "fashion", "design", "gaming", "education", "careers", "housing", "pets",
+            "gardening", "history", "art", "security"
+    };
+    private static final String[] WORDS = {
+            "latest", "update", "guide", "review", "report", "analysis", "weekly", "how", "to", "best",
+            "new", "tips", "inside", "story", "why", "what", "the", "and", "of", "for"
+    };
+
+    private final Map<String, FetchedPage> pages = new HashMap<>();
+    private final int matching;
+
+    SyntheticSite(String keyword, int articlesPerTopic, double denseRate, double sparseRate) {
+        var rnd = new SplittableRandom(7);
+        String dense = TOPICS[TOPICS.length - 1];
+        int matches = 0;
+
+        List<String> homeLinks = new ArrayList<>();
+        List<String> homeAnchors = new ArrayList<>();
+        for (String topic : TOPICS) {
+            homeLinks.add(sectionUrl(topic));
+            homeAnchors.add(Character.toUpperCase(topic.charAt(0)) + topic.substring(1));
+        }
+        pages.put(ROOT, new FetchedPage(ROOT, text(rnd, 200, null), homeLinks, homeAnchors));
+
+        for (String topic : TOPICS) {
+            boolean isDense = topic.equals(dense);
+            String[] titles = new String[articlesPerTopic];
+            for (int i = 0; i < articlesPerTopic; i++) {
+                titles[i] = title(rnd, isDense && rnd.nextDouble() < 0.3 ? keyword : topic);
+            }
+            List<String> sectionLinks = new ArrayList<>();
+            List<String> sectionAnchors = new ArrayList<>();
+            for (int i = 0; i < articlesPerTopic; i++) {
+                sectionLinks.add(articleUrl(topic, i));
+                sectionAnchors.add(titles[i]);
+            }
+            pages.put(sectionUrl(topic), new FetchedPage(sectionUrl(topic), text(rnd, 300, null), sectionLinks, sectionAnchors));
+
+            for (int i = 0; i < articlesPerTopic; i++) {
+                boolean match = rnd.nextDouble() < (isDense ? denseRate : sparseRate);
+                if (match) matches++;
+                List<String> links = new ArrayList<>(List.of(ROOT, sectionUrl(topic)));
+                List<String> anchors = new ArrayList<>(List.of("Home", topic));
+                for (int k = 0; k < 6; k++) {
+                    int j = rnd.nextInt(articlesPerTopic);
+                    links.add(articleUrl(topic, j));
+                    anchors.add(titles[j]);
+                }
+                for (int k = 0; k < 2; k++) {
+                    String other = TOPICS[rnd.nextInt(TOPICS.length)];
+                    links.add(articleUrl(other, rnd.nextInt(articlesPerTopic)));
+                    anchors.add(title(rnd, other));
+                }
+                String url = articleUrl(topic, i);
+                pages.put(url, new FetchedPage(url, text(rnd, 600, match ? keyword : null), links, anchors));
+            }
+        }
+        this.matching = matches;
+    }
+
+    FetchedPage fetch(String url) {
+        return pages.get(url);
+    }
+
+    int size() {
+        return pages.size();
+    }
+
+    int matching() {
+        return matching;
+    }
+
+    private static String sectionUrl(String topic) {
+        return ROOT + topic + "/";
+    }
+
+    private static String articleUrl(String topic, int i) {
+        return ROOT + topic + "/" + i + ".html";
+    }
+
+    private static String title(SplittableRandom rnd, String subject) {
+        return WORDS[rnd.nextInt(WORDS.length)] + " " + subject + " " + WORDS[rnd.nextInt(WORDS.length)];
+    }
+
+    private static String text(SplittableRandom rnd, int words, String needle) {
+        var sb = new StringBuilder("<html><body><p>");
+        int at = needle == null ? -1 : rnd.nextInt(words);
+        for (int i = 0; i < words; i++) {
+            if (i == at) sb.append(needle).append(' ');
+            sb.append(WORDS[rnd.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.append("</p></body></html>").toString();
+    }
+}
@@ -0,0 +1,152 @@
+package com.concurrent_web_crawler.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP site for load tests: {@code pages} pages under {@code /p/<n>} (the
+ * root is page 0), each linking to {@code fanOut} other pages and padded to
+ * about {@code pageSize} bytes. Everything about a page (links, keywords, being
+ * slow or failing) is derived from its number, so runs are reproducible; only
+ * the per-request latency is random, log-normal with the given median and p99.
+ * Each keyword is planted in roughly {@code keywordDensity} of the pages.
+ */
+final class SyntheticSiteServer implements AutoCloseable {
+
+    record Spec(int pages, int fanOut, int pageSize, Duration latencyMedian, Duration latencyP99,
+                double slowRate, Duration slowLatency, double errorRate, double keywordDensity, List<String> keywords) {}
+
+    private static final String[] WORDS = {
+            "latest", "update", "guide", "review", "report", "analysis", "weekly", "how", "to", "best",
+            "new", "tips", "inside", "story", "why", "what", "the", "and", "of", "for"
+    };
+
+    private final Spec spec;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<Integer, byte[]> bodies = new ConcurrentHashMap<>();
+    private final double sigma;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    SyntheticSiteServer(Spec spec) throws IOException {
+        this.spec = spec;
+        long median = spec.latencyMedian().toNanos();
+        long p99 = Math.max(median, spec.latencyP99().toNanos());
+        this.sigma = median == 0 ? 0 : Math.log((double) p99 / median) / 2.326;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long served() {
+        return served.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+
+    long bytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            int page = page(exchange.getRequestURI().getPath());
+            if (page < 0) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            var rnd = new SplittableRandom(page * 0x9E3779B97F4A7C15L);
+            boolean slow = rnd.nextDouble() < spec.slowRate();
+            boolean error = rnd.nextDouble() < spec.errorRate();
+            sleep(slow ? spec.slowLatency().toNanos() : latencyNanos());
+            if (error) {
+                failed.increment();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            byte[] body = bodies.computeIfAbsent(page, this::render);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            served.increment();
+            bytes.add(body.length);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int page(String path) {
+        if (path.equals("/")) return 0;
+        if (!path.startsWith("/p/")) return -1;
+        try {
+            int n = Integer.parseInt(path.substring(3));
+            return n >= 0 && n < spec.pages() ? n : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private long latencyNanos() {
+        long median = spec.latencyMedian().toNanos();
+        if (median == 0) return 0;
+        return (long) (median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) Thread.sleep(Duration.ofNanos(nanos));
+    }
+
+    private byte[] render(int page) {
+        var rnd = new SplittableRandom(~page * 0xC2B2AE3D27D4EB4FL);
+        var sb = new StringBuilder(spec.pageSize() + 512);
+        sb.append("<!DOCTYPE html><html><head><title>Page ").append(page).append("</title></head><body>\n");
+        for (String keyword : spec.keywords()) {
+            if (rnd.nextDouble() < spec.keywordDensity()) sb.append("<h2>").append(keyword).append("</h2>\n");
+        }
+        sb.append("<nav>");
+        for (int i = 0; i < spec.fanOut(); i++) {
+            // mostly nearby pages, so the site is navigable from the root like a real one
+            int target = i == 0 ? (page + 1) % spec.pages()
+                    : rnd.nextInt(4) == 0 ? rnd.nextInt(spec.pages())
+                    : Math.floorMod(page * spec.fanOut() + i, spec.pages());
+            sb.append("<a href=\"/p/").append(target).append("\">").append(WORDS[rnd.nextInt(WORDS.length)]).append("</a> ");
+        }
+        sb.append("</nav>\n");
+        while (sb.length() < spec.pageSize()) {
+            sb.append("<p>");
+            for (int i = 0; i < 30; i++) sb.append(WORDS[rnd.nextInt(WORDS.length)]).append(' ');
+            sb.append("</p>\n");
+        }
+        return sb.append("</body></html>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
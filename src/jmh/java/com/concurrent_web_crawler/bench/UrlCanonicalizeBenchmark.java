@@ -0,0 +1,58 @@
+package com.concurrent_web_crawler.bench;
+
+import com.concurrent_web_crawler.crawler.util.HtmlUrlUtils;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalizing every href found in the corpus pages (in-site, off-site and
+ * relative mixed as on real pages) with the URI-based HtmlUrlUtils method and
+ * with UrlCanonicalizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlCanonicalizeBenchmark {
+
+    private static final String BASE = "https://example.org";
+
+    private String[] hrefs;
+    private UrlCanonicalizer canonicalizer;
+
+    @Setup
+    public void setup() {
+        List<String> all = new ArrayList<>();
+        for (String page : List.of("news-index.html", "blog-article.html", "docs-page.html", "shop-listing.html")) {
+            HtmlUrlUtils.forEachLink(Corpus.load(page), all::add);
+        }
+        hrefs = all.toArray(String[]::new);
+        canonicalizer = new UrlCanonicalizer(BASE);
+    }
+
+    @Benchmark
+    public void legacyUri(Blackhole bh) {
+        for (String href : hrefs) bh.consume(HtmlUrlUtils.normalizeAndFilterUrl(BASE, href));
+    }
+
+    @Benchmark
+    public void canonicalizer(Blackhole bh) {
+        for (String href : hrefs) bh.consume(canonicalizer.canonicalize(href));
+    }
+}
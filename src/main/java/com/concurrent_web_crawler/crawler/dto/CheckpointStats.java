@@ -0,0 +1,3 @@
+package com.concurrent_web_crawler.crawler.dto;
+
+public record CheckpointStats(long records, long bytes, long flushes, double avgFlushMillis, long pendingRecords, int openJournals) {}
@@ -4,4 +4,4 @@ import com.concurrent_web_crawler.crawler.enumerator.CrawlStatus;
 
 import java.util.List;
 
-public record CrawlResponse(String id, CrawlStatus status, List<String> urls) {}
\ No newline at end of file
+public record CrawlResponse(String id, CrawlStatus status, List<String> urls, int version) {}
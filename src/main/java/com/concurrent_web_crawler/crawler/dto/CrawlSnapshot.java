@@ -0,0 +1,33 @@
+package com.concurrent_web_crawler.crawler.dto;
+
+import com.concurrent_web_crawler.crawler.enumerator.CrawlStatus;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+
+import java.util.List;
+
+/** What clients see of a crawl: its status and result URLs in the order they were found. */
+public record CrawlSnapshot(String id, CrawlStatus status, List<String> urls) {
+
+    public static CrawlSnapshot of(CrawlState s) {
+        var status = s.cancelled() ? CrawlStatus.CANCELLED : s.done() ? CrawlStatus.DONE : CrawlStatus.ACTIVE;
+        return new CrawlSnapshot(s.getId(), status, s.results());
+    }
+
+    public static CrawlSnapshot of(CrawlStateDto dto) {
+        return new CrawlSnapshot(dto.id(), dto.status(), dto.results());
+    }
+
+    /** Number of URLs found so far; pass it back as {@code since} to read only newer ones. */
+    public int version() {
+        return urls.size();
+    }
+
+    public String etag() {
+        return "\"" + version() + "-" + status + "\"";
+    }
+
+    public CrawlResponse since(int cursor) {
+        List<String> page = cursor <= 0 ? urls : cursor >= urls.size() ? List.of() : urls.subList(cursor, urls.size());
+        return new CrawlResponse(id, status, page, version());
+    }
+}
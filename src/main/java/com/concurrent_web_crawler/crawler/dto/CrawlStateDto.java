@@ -1,6 +1,8 @@
 package com.concurrent_web_crawler.crawler.dto;
 
+import com.concurrent_web_crawler.crawler.enumerator.CrawlStatus;
 import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -10,14 +12,21 @@ public record CrawlStateDto(
         String id,
         String keyword,
         List<String> results,
-        List<String> visited,
+        int visitedCount,
+        long visitedMemoryBytes,
         List<String> frontier,
-        boolean done
+        boolean done,
+        boolean cancelled,
+        CrawlStats stats
 ) implements Serializable {
+    public CrawlStatus status() {
+        return cancelled ? CrawlStatus.CANCELLED : done ? CrawlStatus.DONE : CrawlStatus.ACTIVE;
+    }
+
     public static CrawlStateDto from(CrawlState s) {
         List<String> results = new ArrayList<>(s.results());
-        List<String> visited = new ArrayList<>(s.getVisited());
-        List<String> frontier = new ArrayList<>(s.getFrontier());
-        return new CrawlStateDto(s.getId(), s.getKeyword(), results, visited, frontier, s.done());
+        List<String> frontier = s.getFrontier().stream().map(PriorityFrontier.Entry::url).toList();
+        return new CrawlStateDto(s.getId(), s.getKeyword(), results,
+                s.getVisited().size(), s.getVisited().memoryBytes(), frontier, s.done(), s.cancelled(), CrawlStats.of(s));
     }
 }
@@ -0,0 +1,52 @@
+package com.concurrent_web_crawler.crawler.dto;
+
+import com.concurrent_web_crawler.crawler.enumerator.CrawlStatus;
+import com.concurrent_web_crawler.crawler.model.CrawlProgress;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Live progress of one crawl, read from its counters without copying its state.
+ * {@code etaMillis} is a rough upper bound: the time left to spend the page budget,
+ * or to find the remaining results, at the current rate; null until there is a rate.
+ */
+public record CrawlStats(
+        String id,
+        CrawlStatus status,
+        long pagesFetched,
+        double pagesPerSecond,
+        long bytes,
+        int results,
+        Map<CrawlProgress.ErrorCategory, Long> errors,
+        int frontierDepth,
+        int inFlight,
+        long elapsedMillis,
+        Long etaMillis
+) implements Serializable {
+
+    public static CrawlStats of(CrawlState s) {
+        var status = s.cancelled() ? CrawlStatus.CANCELLED : s.done() ? CrawlStatus.DONE : CrawlStatus.ACTIVE;
+        CrawlProgress progress = s.getProgress();
+        long pages = progress.pages();
+        long elapsed = progress.elapsedMillis();
+        int results = s.resultsCount();
+        Map<CrawlProgress.ErrorCategory, Long> errors = new EnumMap<>(CrawlProgress.ErrorCategory.class);
+        for (var category : CrawlProgress.ErrorCategory.values()) errors.put(category, progress.errors(category));
+        boolean running = status == CrawlStatus.ACTIVE;
+        return new CrawlStats(s.getId(), status, pages, elapsed == 0 ? 0 : pages * 1000.0 / elapsed,
+                progress.bytes(), results, errors,
+                running ? s.getFrontier().size() : 0, running ? progress.inFlight() : 0,
+                elapsed, running ? eta(s, pages, results, elapsed) : Long.valueOf(0));
+    }
+
+    private static Long eta(CrawlState s, long pages, int results, long elapsed) {
+        if (pages == 0 || elapsed == 0) return null;
+        var limits = s.getBudget().limits();
+        long eta = (limits.maxPages() - s.getBudget().pages()) * elapsed / pages;
+        if (results > 0) eta = Math.min(eta, (limits.maxResults() - results) * elapsed / results);
+        return Math.max(0, eta);
+    }
+}
@@ -0,0 +1,3 @@
+package com.concurrent_web_crawler.crawler.dto;
+
+public record PageCacheStats(long hits, long misses, long evictions, long loadFailures, long entries, double hitRate) {}
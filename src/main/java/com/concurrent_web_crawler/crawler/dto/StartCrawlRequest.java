@@ -1,6 +1,12 @@
 package com.concurrent_web_crawler.crawler.dto;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
-public record StartCrawlRequest(@NotBlank @Size(min = 4, max = 32) String keyword) {}
\ No newline at end of file
+public record StartCrawlRequest(
+        @NotBlank @Size(min = 4, max = 32) String keyword,
+        @Positive @Max(100_000) Integer maxPages,
+        @Positive @Max(1_000) Integer maxResults
+) {}
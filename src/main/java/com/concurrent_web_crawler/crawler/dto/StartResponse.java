@@ -1,3 +1,4 @@
 package com.concurrent_web_crawler.crawler.dto;
 
-public record StartResponse(String id) {}
\ No newline at end of file
+/** {@code cancelToken} identifies this request when it cancels the crawl, which other requests may share. */
+public record StartResponse(String id, String cancelToken) {}
\ No newline at end of file
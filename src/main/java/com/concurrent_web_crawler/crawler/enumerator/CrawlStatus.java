@@ -1,3 +1,3 @@
 package com.concurrent_web_crawler.crawler.enumerator;
 
-public enum CrawlStatus { PENDING, ACTIVE, DONE, FAILED }
\ No newline at end of file
+public enum CrawlStatus { PENDING, ACTIVE, DONE, FAILED, CANCELLED }
\ No newline at end of file
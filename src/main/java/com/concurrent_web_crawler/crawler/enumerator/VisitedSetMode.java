@@ -0,0 +1,3 @@
+package com.concurrent_web_crawler.crawler.enumerator;
+
+public enum VisitedSetMode { FINGERPRINT, BLOOM }
@@ -0,0 +1,210 @@
+package com.concurrent_web_crawler.crawler.infra.cache;
+
+import com.concurrent_web_crawler.crawler.dto.CrawlSnapshot;
+import com.concurrent_web_crawler.crawler.dto.CrawlStateDto;
+import com.concurrent_web_crawler.crawler.dto.CrawlStats;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Where crawl states live. Running crawls are held as is and never evicted. A
+ * finished crawl is compacted to its results (visited set and frontier are
+ * dropped), written through to the {@code crawlStateFinal} Redis cache and kept
+ * in a weight-bounded Caffeine cache (W-TinyLFU) until it is evicted; lookups
+ * that miss locally fall back to Redis.
+ * <p>
+ * Crawls are also indexed by normalized keyword, so concurrent requests for the
+ * same keyword share one running crawl and a crawl that finished less than
+ * {@code crawler.state-registry.fresh-for} ago answers new requests directly.
+ */
+@Component
+public class CrawlStateRegistry implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CrawlStateRegistry.class);
+    private static final String OFFLOAD_CACHE = "crawlStateFinal";
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final CacheManager cacheManager;
+    private final Map<String, CrawlState> active = new ConcurrentHashMap<>();
+    private final Cache<String, CrawlStateDto> finished;
+    private final Map<String, CrawlState> running = new ConcurrentHashMap<>();
+    private final Cache<String, Latest> latest;
+    private final Duration freshFor;
+    private final boolean freshEnabled;
+
+    private record Latest(String id, CrawlLimits limits) {}
+
+    public CrawlStateRegistry(CacheManager cacheManager, CrawlStateRegistryProperties props) {
+        this.cacheManager = cacheManager;
+        this.finished = Caffeine.newBuilder()
+                .maximumWeight(props.getMaxWeightChars())
+                .<String, CrawlStateDto>weigher((_, dto) -> weight(dto))
+                .expireAfterAccess(props.getTtl())
+                .build();
+        this.freshFor = props.getFreshFor();
+        this.freshEnabled = freshFor.isPositive();
+        this.latest = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(freshEnabled ? freshFor : props.getTtl())
+                .build();
+    }
+
+    public void register(CrawlState state) {
+        active.put(state.getId(), state);
+        running.put(state.getKeyword(), state);
+    }
+
+    /**
+     * Single flight per keyword: the running crawl for {@code keyword} if it covers
+     * {@code limits}, otherwise the crawl made by {@code create}, registered as the new
+     * one for the keyword. Either way {@code request} joins it. Callers tell the two
+     * apart by the returned state's id.
+     */
+    public CrawlState joinOrRegister(String keyword, CrawlLimits limits, String request, Supplier<CrawlState> create) {
+        return running.compute(keyword, (_, current) -> {
+            if (joinable(current, limits) && current.join(request)) return current;
+            CrawlState created = create.get();
+            created.join(request);
+            active.put(created.getId(), created);
+            return created;
+        });
+    }
+
+    /** The running crawl for this keyword, if one covers {@code limits}, joined by {@code request}. */
+    public Optional<CrawlState> join(String keyword, CrawlLimits limits, String request) {
+        CrawlState state = running.get(keyword);
+        return joinable(state, limits) && state.join(request) ? Optional.of(state) : Optional.empty();
+    }
+
+    // a crawl that just finished but is not completed yet is as good as a fresh one
+    private static boolean joinable(CrawlState state, CrawlLimits limits) {
+        return state != null && !state.cancelled() && state.getBudget().limits().covers(limits);
+    }
+
+    /** A crawl for this keyword that finished within the freshness window, was not cancelled and covers {@code limits}. */
+    public Optional<CrawlStateDto> fresh(String keyword, CrawlLimits limits) {
+        Latest last = freshEnabled ? latest.getIfPresent(keyword) : null;
+        if (last == null || !last.limits().covers(limits)) return Optional.empty();
+        return finished(last.id());
+    }
+
+    /** The running crawl with this id, if it is still running here. */
+    public Optional<CrawlState> active(String id) {
+        return Optional.ofNullable(active.get(id));
+    }
+
+    /** Moves a finished crawl out of the hot set, keeping only what its clients can still read. */
+    public CrawlStateDto complete(CrawlState state) {
+        var dto = compact(state);
+        finished.put(state.getId(), dto);
+        active.remove(state.getId(), state);
+        running.remove(state.getKeyword(), state);
+        if (freshEnabled && !state.cancelled()) latest.put(state.getKeyword(), new Latest(state.getId(), state.getBudget().limits()));
+        offload(dto);
+        return dto;
+    }
+
+    /** Whether a result stored at {@code finishedAt} is still within the freshness window. */
+    public boolean isFresh(Instant finishedAt) {
+        return freshEnabled && finishedAt.plus(freshFor).isAfter(Instant.now());
+    }
+
+    public Optional<CrawlStateDto> get(String id) {
+        CrawlState running = active.get(id);
+        if (running != null) return Optional.of(CrawlStateDto.from(running));
+        return finished(id);
+    }
+
+    /** Status and results only; unlike {@link #get} this never copies a running crawl's state. */
+    public Optional<CrawlSnapshot> snapshot(String id) {
+        CrawlState running = active.get(id);
+        if (running != null) return Optional.of(CrawlSnapshot.of(running));
+        return finished(id).map(CrawlSnapshot::of);
+    }
+
+    /** Progress counters; a finished crawl keeps its final figures. */
+    public Optional<CrawlStats> stats(String id) {
+        CrawlState running = active.get(id);
+        if (running != null) return Optional.of(CrawlStats.of(running));
+        return finished(id).map(CrawlStateDto::stats);
+    }
+
+    private Optional<CrawlStateDto> finished(String id) {
+        CrawlStateDto dto = finished.getIfPresent(id);
+        if (dto != null) return Optional.of(dto);
+        dto = load(id);
+        if (dto != null) finished.put(id, dto);
+        return Optional.ofNullable(dto);
+    }
+
+    public int activeCount() {
+        return active.size();
+    }
+
+    /** URLs queued across all running crawls. */
+    public int frontierSize() {
+        int size = 0;
+        for (CrawlState state : active.values()) size += state.getFrontier().size();
+        return size;
+    }
+
+    public long finishedCount() {
+        return finished.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("crawler.crawls.active", this, CrawlStateRegistry::activeCount).register(registry);
+        Gauge.builder("crawler.crawls.finished", this, CrawlStateRegistry::finishedCount)
+                .description("Finished crawls still held in memory").register(registry);
+        Gauge.builder("crawler.frontier.size", this, CrawlStateRegistry::frontierSize).register(registry);
+    }
+
+    static CrawlStateDto compact(CrawlState s) {
+        return new CrawlStateDto(s.getId(), s.getKeyword(), s.results(),
+                s.getVisited().size(), 0, List.of(), true, s.cancelled(), CrawlStats.of(s));
+    }
+
+    private static int weight(CrawlStateDto dto) {
+        int chars = ENTRY_OVERHEAD + dto.keyword().length();
+        for (String url : dto.results()) chars += url.length();
+        return chars;
+    }
+
+    // Redis is only the offload tier: when it is unavailable finished crawls stay readable until evicted
+    private void offload(CrawlStateDto dto) {
+        try {
+            var cache = cacheManager.getCache(OFFLOAD_CACHE);
+            if (cache != null) cache.put(dto.id(), dto);
+        } catch (RuntimeException e) {
+            log.warn("Could not offload crawl state {}", dto.id(), e);
+        }
+    }
+
+    private CrawlStateDto load(String id) {
+        try {
+            var cache = cacheManager.getCache(OFFLOAD_CACHE);
+            return cache == null ? null : cache.get(id, CrawlStateDto.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not load crawl state {}", id, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.concurrent_web_crawler.crawler.infra.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.state-registry")
+public class CrawlStateRegistryProperties {
+    private long maxWeightChars = 16L * 1024 * 1024; // finished crawls kept in memory, by result URL length
+    private Duration ttl = Duration.ofHours(1);
+    private Duration freshFor = Duration.ofMinutes(10); // a finished crawl answers new requests for its keyword this long; 0 disables
+}
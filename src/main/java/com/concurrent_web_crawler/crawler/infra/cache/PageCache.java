@@ -0,0 +1,115 @@
+package com.concurrent_web_crawler.crawler.infra.cache;
+
+import com.concurrent_web_crawler.crawler.dto.PageCacheStats;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.model.FetchResult;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.model.PageMetadata;
+import com.concurrent_web_crawler.crawler.model.PageValidators;
+import com.concurrent_web_crawler.crawler.port.out.PageFetcherPort;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Bounded, TTL-based cache of fetched pages shared by every crawl. Loads are
+ * single-flight: concurrent requests for the same URL wait on one fetch. Error
+ * responses expire after the shorter error TTL and are never indexed; failed
+ * fetches are not cached at all. Misses
+ * are served from the site index when it holds a fresh copy of the page and are
+ * otherwise loaded asynchronously, so no thread is parked on the socket. A
+ * stale indexed copy is revalidated with a conditional request and reused as
+ * is when the server answers 304 Not Modified.
+ */
+@Component
+public class PageCache {
+
+    private final PageFetcherPort fetcher;
+    private final SiteIndex siteIndex;
+    private final PageMetadataStore metadataStore;
+    private final AsyncCache<String, FetchedPage> cache;
+
+    public PageCache(PageFetcherPort fetcher,
+                     SiteIndex siteIndex,
+                     PageMetadataStore metadataStore,
+                     PageCacheProperties props,
+                     ExecutorService virtualThreadExecutor) {
+        this.fetcher = fetcher;
+        this.siteIndex = siteIndex;
+        this.metadataStore = metadataStore;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(props.getMaxWeightChars())
+                .<String, FetchedPage>weigher((_, page) -> page.weight())
+                .expireAfter(Expiry.<String, FetchedPage>writing((_, page) -> page.ok() ? props.getTtl() : props.getErrorTtl()))
+                .executor(virtualThreadExecutor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /** Returns the cached or freshly fetched page, or null if the fetch failed or was interrupted. */
+    public FetchedPage get(String url) throws InterruptedException {
+        CompletableFuture<FetchedPage> future = cache.get(url, (key, _) -> load(key));
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private CompletableFuture<FetchedPage> load(String url) {
+        var indexed = siteIndex.lookup(url);
+        if (indexed.isPresent()) return CompletableFuture.completedFuture(indexed.get());
+        FetchedPage stale = siteIndex.lookupStale(url).orElse(null);
+        PageMetadata known = stale == null ? null : metadataStore.find(url).orElse(null);
+        PageValidators validators = known == null ? PageValidators.NONE : known.validators();
+        return fetcher.fetch(url, validators).thenCompose(result -> {
+            if (!result.notModified()) return CompletableFuture.completedFuture(store(url, known, result));
+            if (known != null && stale != null) {
+                siteIndex.refresh(url);
+                metadataStore.revalidated(known);
+                return CompletableFuture.completedFuture(stale);
+            }
+            // a 304 to a request without validators leaves nothing to reuse, so ask for the full page
+            return fetcher.fetch(url, PageValidators.NONE).thenApply(retry -> {
+                if (retry.notModified()) throw new IllegalStateException("304 Not Modified without validators for " + url);
+                return store(url, null, retry);
+            });
+        });
+    }
+
+    private FetchedPage store(String url, PageMetadata known, FetchResult result) {
+        FetchedPage page = result.page();
+        if (!page.ok()) return page;
+        // metadata is only worth a database write when the index keeps a copy to revalidate later
+        boolean record = siteIndex.enabled() && !result.validators().isEmpty();
+        long hash = page.html() && (known != null || record) ? FingerprintVisitedSet.fingerprint(page.content()) : 0;
+        // unchanged content is not appended to the index again, even with new validators
+        if (known != null && hash != 0 && hash == known.getContentHash()) siteIndex.refresh(url);
+        else siteIndex.put(page);
+        if (record) metadataStore.fetched(url, result.validators(), hash);
+        return page;
+    }
+
+    public FetchedPage getIfPresent(String url) {
+        CompletableFuture<FetchedPage> future = cache.getIfPresent(url);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    public PageCacheStats stats() {
+        var s = cache.synchronous().stats();
+        return new PageCacheStats(
+                s.hitCount(),
+                s.missCount(),
+                s.evictionCount(),
+                s.loadFailureCount(),
+                cache.synchronous().estimatedSize(),
+                s.hitRate()
+        );
+    }
+}
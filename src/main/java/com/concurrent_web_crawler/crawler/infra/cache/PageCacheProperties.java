@@ -0,0 +1,18 @@
+package com.concurrent_web_crawler.crawler.infra.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.page-cache")
+public class PageCacheProperties {
+    private long maxWeightChars = 64L * 1024 * 1024;
+    private Duration ttl = Duration.ofMinutes(10);
+    private Duration errorTtl = Duration.ofSeconds(30); // non-2xx answers, so a failing page is retried soon
+}
@@ -0,0 +1,67 @@
+package com.concurrent_web_crawler.crawler.infra.cache;
+
+import com.concurrent_web_crawler.crawler.infra.http.FetchProperties;
+import com.concurrent_web_crawler.crawler.model.PageMetadata;
+import com.concurrent_web_crawler.crawler.model.PageValidators;
+import com.concurrent_web_crawler.crawler.repository.PageMetadataRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Per-URL validators and content hash of the last fetch, used to revalidate
+ * stale pages instead of downloading them again. The store is advisory: when
+ * the database is unavailable pages are simply fetched in full.
+ */
+@Component
+@RequiredArgsConstructor
+public class PageMetadataStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PageMetadataStore.class);
+
+    private final PageMetadataRepository repository;
+    private final FetchProperties fetchProperties;
+
+    public Optional<PageMetadata> find(String url) {
+        if (!fetchProperties.isRevalidate()) return Optional.empty();
+        try {
+            return repository.findById(url);
+        } catch (DataAccessException e) {
+            log.warn("Page metadata lookup failed for {}", url, e);
+            return Optional.empty();
+        }
+    }
+
+    /** Records a full fetch; pages without validators cannot be revalidated and are not remembered. */
+    public void fetched(String url, PageValidators validators, long contentHash) {
+        if (!fetchProperties.isRevalidate() || validators.isEmpty()) return;
+        var now = OffsetDateTime.now();
+        save(PageMetadata.builder()
+                .url(url)
+                .etag(validators.etag())
+                .lastModified(validators.lastModified())
+                .contentHash(contentHash)
+                .fetchedAt(now)
+                .validatedAt(now)
+                .build());
+    }
+
+    /** Records that the server confirmed the stored copy is still current. */
+    public void revalidated(PageMetadata metadata) {
+        metadata.setValidatedAt(OffsetDateTime.now());
+        save(metadata);
+    }
+
+    private void save(PageMetadata metadata) {
+        try {
+            repository.save(metadata);
+        } catch (DataAccessException e) {
+            log.warn("Page metadata update failed for {}", metadata.getUrl(), e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.concurrent_web_crawler.crawler.infra.checkpoint;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.checkpoint")
+public class CheckpointProperties {
+    private boolean enabled = true;
+    private String dir = System.getProperty("java.io.tmpdir") + "/crawler-checkpoints";
+    private Duration interval = Duration.ofSeconds(2);
+    private boolean resume = true; // resume interrupted and ACTIVE crawls on startup
+}
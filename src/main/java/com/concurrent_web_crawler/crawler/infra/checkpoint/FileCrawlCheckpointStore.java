@@ -0,0 +1,292 @@
+package com.concurrent_web_crawler.crawler.infra.checkpoint;
+
+import com.concurrent_web_crawler.crawler.dto.CheckpointStats;
+import com.concurrent_web_crawler.crawler.model.CrawlCheckpoint;
+import com.concurrent_web_crawler.crawler.model.CrawlJournal;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.port.out.CrawlCheckpointPort;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only checkpoint log, one file per running crawl. Crawl threads only
+ * queue small records; a single flusher appends whatever changed since the
+ * previous flush every {@code crawler.checkpoint.interval}, so the cost is
+ * proportional to the crawl's progress and never to its size. A crawl that
+ * finishes deletes its log, so every log left on startup is a crawl to resume.
+ * A page is marked processed only once its links are in the log, so pages that
+ * were being fetched at a crash are queued again. A record torn by a crash is
+ * cut off on recovery, before the resumed crawl appends to the log.
+ */
+@Component
+public class FileCrawlCheckpointStore implements CrawlCheckpointPort {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCrawlCheckpointStore.class);
+    private static final String SUFFIX = ".ckpt";
+
+    private static final byte HEADER = 'H';
+    private static final byte ENQUEUED = 'E';
+    private static final byte PROCESSED = 'P';
+    private static final byte RESULT = 'R';
+
+    private final CheckpointProperties props;
+    private final Path dir;
+    private final Map<String, FileJournal> journals = new ConcurrentHashMap<>();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean running = true;
+
+    public FileCrawlCheckpointStore(CheckpointProperties props, ExecutorService virtualThreadExecutor) {
+        this.props = props;
+        this.dir = Path.of(props.getDir());
+        if (!props.isEnabled()) return;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open checkpoint dir " + dir, e);
+        }
+        virtualThreadExecutor.submit(this::flushLoop);
+    }
+
+    @Override
+    public CrawlJournal open(CrawlState state) {
+        if (!props.isEnabled()) return CrawlJournal.NONE;
+        var journal = new FileJournal(path(state.getId()));
+        CrawlLimits limits = state.getBudget().limits();
+        journal.add(new Rec(HEADER, state.getId(), state.getKeyword(), limits.maxPages(), limits.maxResults(), limits.maxFrontier()));
+        journals.put(state.getId(), journal);
+        return journal;
+    }
+
+    @Override
+    public CrawlJournal reopen(CrawlCheckpoint checkpoint) {
+        if (!props.isEnabled()) return CrawlJournal.NONE;
+        var journal = new FileJournal(path(checkpoint.id()));
+        journals.put(checkpoint.id(), journal);
+        return journal;
+    }
+
+    @Override
+    public List<CrawlCheckpoint> recover() {
+        if (!props.isEnabled()) return List.of();
+        List<CrawlCheckpoint> checkpoints = new ArrayList<>();
+        try (var files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                if (journals.containsKey(id(file))) continue;
+                try {
+                    CrawlCheckpoint cp = read(file);
+                    if (cp != null) checkpoints.add(cp);
+                    else Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable checkpoint {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return checkpoints;
+    }
+
+    @Override
+    public CheckpointStats stats() {
+        long n = flushes.sum();
+        return new CheckpointStats(records.sum(), bytes.sum(), n,
+                n == 0 ? 0 : flushNanos.sum() / 1e6 / n, pending.get(), journals.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        flushAll();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(props.getInterval());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flushAll();
+        }
+    }
+
+    void flushAll() {
+        long start = System.nanoTime();
+        boolean wrote = false;
+        for (FileJournal journal : journals.values()) {
+            try {
+                wrote |= journal.flush();
+            } catch (IOException e) {
+                log.warn("Checkpoint write failed for {}", journal.path, e);
+            }
+        }
+        if (wrote) {
+            flushes.increment();
+            flushNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    // replays the log and truncates it after its last complete record, so appends after a resume stay readable
+    private static CrawlCheckpoint read(Path file) throws IOException {
+        String id = null;
+        String keyword = null;
+        CrawlLimits limits = null;
+        Map<String, CrawlCheckpoint.Queued> queued = new LinkedHashMap<>();
+        Set<String> processed = new LinkedHashSet<>();
+        Set<String> results = new LinkedHashSet<>();
+        byte[] data = Files.readAllBytes(file);
+        var raw = new ByteArrayInputStream(data);
+        long good = 0;
+        try (var in = new DataInputStream(raw)) {
+            while (true) {
+                good = data.length - raw.available();
+                byte type = in.readByte();
+                switch (type) {
+                    case HEADER -> {
+                        id = in.readUTF();
+                        keyword = in.readUTF();
+                        limits = new CrawlLimits(in.readInt(), in.readInt(), in.readInt());
+                    }
+                    case ENQUEUED -> {
+                        String url = in.readUTF();
+                        queued.putIfAbsent(url, new CrawlCheckpoint.Queued(url, in.readInt(), in.readInt()));
+                    }
+                    case PROCESSED -> processed.add(in.readUTF());
+                    case RESULT -> results.add(in.readUTF());
+                    default -> throw new EOFException("torn record");
+                }
+            }
+        } catch (EOFException endOfLog) {
+            // a record cut short by a crash is dropped along with anything after it
+        }
+        if (id == null) return null;
+        if (good < data.length) {
+            try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(good);
+            }
+        }
+        // claimed but unprocessed URLs are still in queued, so they are fetched again
+        List<CrawlCheckpoint.Queued> frontier = queued.values().stream().filter(q -> !processed.contains(q.url())).toList();
+        return new CrawlCheckpoint(id, keyword, limits, frontier, List.copyOf(processed), List.copyOf(results));
+    }
+
+    private Path path(String crawlId) {
+        return dir.resolve(crawlId + SUFFIX);
+    }
+
+    private static String id(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SUFFIX.length());
+    }
+
+    private record Rec(byte type, String url, String keyword, int a, int b, int c) {}
+
+    private final class FileJournal implements CrawlJournal {
+        private final Path path;
+        private final ConcurrentLinkedQueue<Rec> queue = new ConcurrentLinkedQueue<>();
+        private boolean closed; // guarded by this
+
+        FileJournal(Path path) {
+            this.path = path;
+        }
+
+        void add(Rec rec) {
+            queue.add(rec);
+            pending.incrementAndGet();
+        }
+
+        @Override
+        public void enqueued(PriorityFrontier.Entry entry, int priority) {
+            add(new Rec(ENQUEUED, entry.url(), null, entry.depth(), priority, 0));
+        }
+
+        @Override
+        public void processed(String url) {
+            add(new Rec(PROCESSED, url, null, 0, 0, 0));
+        }
+
+        @Override
+        public void result(String url) {
+            add(new Rec(RESULT, url, null, 0, 0, 0));
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!running) return; // crawls interrupted by shutdown keep their log so they resume
+            closed = true;
+            pending.addAndGet(-queue.size());
+            queue.clear();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete checkpoint {}", path, e);
+            }
+            // deregistered only once the file is gone, so recover() never mistakes it for an interrupted crawl
+            journals.remove(id(path), this);
+        }
+
+        synchronized boolean flush() throws IOException {
+            if (closed || queue.isEmpty()) return false;
+            var buf = new ByteArrayOutputStream();
+            var out = new DataOutputStream(buf);
+            int n = 0;
+            for (Rec rec; (rec = queue.poll()) != null; n++) {
+                out.writeByte(rec.type());
+                if (rec.type() == HEADER) {
+                    out.writeUTF(rec.url());
+                    out.writeUTF(rec.keyword());
+                    out.writeInt(rec.a());
+                    out.writeInt(rec.b());
+                    out.writeInt(rec.c());
+                } else {
+                    out.writeUTF(rec.url());
+                    if (rec.type() == ENQUEUED) {
+                        out.writeInt(rec.a());
+                        out.writeInt(rec.b());
+                    }
+                }
+            }
+            pending.addAndGet(-n);
+            try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer data = ByteBuffer.wrap(buf.toByteArray());
+                while (data.hasRemaining()) channel.write(data);
+            }
+            records.add(n);
+            bytes.add(buf.size());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.concurrent_web_crawler.crawler.infra.distributed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.distributed")
+public class DistributedProperties {
+    private String store = "redis"; // redis | memory (single node, tests)
+    private int batchSize = 16;
+    private Duration leaseTimeout = Duration.ofMinutes(2);
+    private Duration pollInterval = Duration.ofMillis(250);
+    private Duration retention = Duration.ofHours(1);
+}
@@ -0,0 +1,170 @@
+package com.concurrent_web_crawler.crawler.infra.distributed;
+
+import com.concurrent_web_crawler.crawler.port.out.DistributedFrontierPort;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for {@link RedisDistributedFrontier} with the same
+ * semantics (leases, limits, termination), for single-node runs and tests.
+ * Each crawl is guarded by its own monitor, like a Lua script runs atomically.
+ */
+@Component
+@ConditionalOnProperty(name = "crawler.distributed.store", havingValue = "memory")
+public class InMemoryDistributedFrontier implements DistributedFrontierPort {
+
+    private final Map<String, Crawl> crawls = new ConcurrentHashMap<>();
+
+    @Override
+    public void create(Job job, String seedUrl) {
+        crawls.put(job.crawlId(), new Crawl(job));
+        offer(job, List.of(new PriorityFrontier.Entry(seedUrl, 0)), List.of(PriorityFrontier.LEVELS - 1));
+    }
+
+    @Override
+    public List<String> activeCrawls() {
+        List<String> ids = new ArrayList<>();
+        crawls.forEach((id, crawl) -> {
+            if (!crawl.done) ids.add(id);
+        });
+        return ids;
+    }
+
+    @Override
+    public Optional<Job> job(String crawlId) {
+        Crawl crawl = crawls.get(crawlId);
+        return crawl == null ? Optional.empty() : Optional.of(crawl.job);
+    }
+
+    @Override
+    public List<PriorityFrontier.Entry> poll(Job job, int max, Duration lease) {
+        Crawl crawl = crawls.get(job.crawlId());
+        if (crawl == null) return List.of();
+        synchronized (crawl) {
+            if (crawl.done) return List.of();
+            long now = System.currentTimeMillis();
+            for (Iterator<Map.Entry<PriorityFrontier.Entry, Lease>> it = crawl.leased.entrySet().iterator(); it.hasNext(); ) {
+                var leased = it.next();
+                if (leased.getValue().deadline() > now) continue;
+                it.remove();
+                crawl.frontier.put(leased.getValue().key(), leased.getKey());
+                crawl.pages--;
+            }
+            int n = Math.min(max, job.limits().maxPages() - crawl.pages);
+            List<PriorityFrontier.Entry> out = new ArrayList<>();
+            while (out.size() < n && !crawl.frontier.isEmpty()) {
+                var queued = crawl.frontier.pollFirstEntry();
+                crawl.leased.put(queued.getValue(), new Lease(queued.getKey(), now + lease.toMillis()));
+                out.add(queued.getValue());
+            }
+            crawl.pages += out.size();
+            if (out.isEmpty() && crawl.leased.isEmpty() && (n <= 0 || crawl.frontier.isEmpty())) crawl.done = true;
+            return out;
+        }
+    }
+
+    @Override
+    public int offer(Job job, List<PriorityFrontier.Entry> entries, List<Integer> priorities) {
+        Crawl crawl = crawls.get(job.crawlId());
+        if (crawl == null) return 0;
+        synchronized (crawl) {
+            if (crawl.done) return 0;
+            int added = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                if (crawl.frontier.size() >= job.limits().maxFrontier()) break;
+                var entry = entries.get(i);
+                if (!crawl.visited.add(FingerprintVisitedSet.fingerprint(entry.url()))) continue;
+                crawl.frontier.put(new long[]{PriorityFrontier.LEVELS - 1 - priorities.get(i), crawl.seq++}, entry);
+                added++;
+            }
+            return added;
+        }
+    }
+
+    @Override
+    public void complete(String crawlId, PriorityFrontier.Entry entry) {
+        Crawl crawl = crawls.get(crawlId);
+        if (crawl == null) return;
+        synchronized (crawl) {
+            crawl.leased.remove(entry);
+        }
+    }
+
+    @Override
+    public boolean addResult(Job job, String url) {
+        Crawl crawl = crawls.get(job.crawlId());
+        if (crawl == null) return false;
+        synchronized (crawl) {
+            if (crawl.done || crawl.results.size() >= job.limits().maxResults()) return false;
+            boolean added = crawl.results.add(url);
+            if (crawl.results.size() >= job.limits().maxResults()) crawl.done = true;
+            return added;
+        }
+    }
+
+    @Override
+    public List<String> results(String crawlId) {
+        Crawl crawl = crawls.get(crawlId);
+        if (crawl == null) return List.of();
+        synchronized (crawl) {
+            return crawl.results.stream().sorted().toList();
+        }
+    }
+
+    @Override
+    public boolean isDone(String crawlId) {
+        Crawl crawl = crawls.get(crawlId);
+        return crawl != null && crawl.done;
+    }
+
+    @Override
+    public void cancel(String crawlId) {
+        Crawl crawl = crawls.get(crawlId);
+        if (crawl == null) return;
+        synchronized (crawl) {
+            crawl.done = true;
+            crawl.frontier.clear();
+            crawl.leased.clear();
+        }
+    }
+
+    @Override
+    public void expire(String crawlId, Duration retention) {
+        // nothing outlives the process here; finished crawls are dropped right away
+        crawls.remove(crawlId);
+    }
+
+    // an expired lease goes back under its original frontier key
+    private record Lease(long[] key, long deadline) {}
+
+    private static final class Crawl {
+        private final Job job;
+        // keyed by (31 - priority, arrival), like the Redis sorted set score
+        private final TreeMap<long[], PriorityFrontier.Entry> frontier = new TreeMap<>((a, b) ->
+                a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        private final Map<PriorityFrontier.Entry, Lease> leased = new LinkedHashMap<>();
+        private final Set<Long> visited = new HashSet<>();
+        private final Set<String> results = new HashSet<>();
+        private long seq;
+        private int pages;
+        private volatile boolean done;
+
+        Crawl(Job job) {
+            this.job = job;
+        }
+    }
+}
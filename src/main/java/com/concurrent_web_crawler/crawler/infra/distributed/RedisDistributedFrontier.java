@@ -0,0 +1,174 @@
+package com.concurrent_web_crawler.crawler.infra.distributed;
+
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.port.out.DistributedFrontierPort;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Redis layout per crawl, all keys sharing the {@code {id}} hash tag so a crawl
+ * lives on one cluster slot: a hash with the job, a sorted set frontier scored
+ * by priority and arrival, a sorted set of leases scored by deadline with a hash
+ * of each leased entry's frontier score to requeue it under, a set of
+ * visited URL fingerprints, a page counter, a result set and a done flag. The
+ * multi-step operations run as Lua scripts that only touch these keys.
+ * <p>
+ * The set of active crawls spans slots, so it is kept up to date outside the
+ * scripts: a crawl is removed from it after a script marked it done. If a node
+ * dies in between, the next empty poll of that crawl removes it.
+ */
+@Component
+@ConditionalOnProperty(name = "crawler.distributed.store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisDistributedFrontier implements DistributedFrontierPort {
+
+    private static final String CRAWLS = "crawler:crawls";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POLL = script("frontier-poll.lua", List.class);
+    private static final RedisScript<Long> OFFER = script("frontier-offer.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADD_RESULT = script("frontier-add-result.lua", List.class);
+    private static final RedisScript<Long> CANCEL = script("frontier-cancel.lua", Long.class);
+
+    private final StringRedisTemplate redis;
+
+    @Override
+    public void create(Job job, String seedUrl) {
+        CrawlLimits limits = job.limits();
+        redis.opsForHash().putAll(key(job.crawlId(), "job"), Map.of(
+                "keyword", job.keyword(),
+                "maxPages", String.valueOf(limits.maxPages()),
+                "maxResults", String.valueOf(limits.maxResults()),
+                "maxFrontier", String.valueOf(limits.maxFrontier())));
+        offer(job, List.of(new PriorityFrontier.Entry(seedUrl, 0)), List.of(PriorityFrontier.LEVELS - 1));
+        redis.opsForSet().add(CRAWLS, job.crawlId());
+    }
+
+    @Override
+    public List<String> activeCrawls() {
+        Set<String> ids = redis.opsForSet().members(CRAWLS);
+        return ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    @Override
+    public Optional<Job> job(String crawlId) {
+        Map<Object, Object> h = redis.opsForHash().entries(key(crawlId, "job"));
+        if (h.isEmpty()) return Optional.empty();
+        return Optional.of(new Job(crawlId, (String) h.get("keyword"), new CrawlLimits(
+                Integer.parseInt((String) h.get("maxPages")),
+                Integer.parseInt((String) h.get("maxResults")),
+                Integer.parseInt((String) h.get("maxFrontier")))));
+    }
+
+    @Override
+    public List<PriorityFrontier.Entry> poll(Job job, int max, Duration lease) {
+        String crawlId = job.crawlId();
+        List<?> members = redis.execute(POLL,
+                List.of(key(crawlId, "frontier"), key(crawlId, "leased"), key(crawlId, "lease-scores"), key(crawlId, "pages"),
+                        key(crawlId, "done")),
+                String.valueOf(max), String.valueOf(lease.toMillis()), String.valueOf(job.limits().maxPages()));
+        if (members == null || members.isEmpty()) {
+            if (isDone(crawlId)) deactivate(crawlId);
+            return List.of();
+        }
+        List<PriorityFrontier.Entry> entries = new ArrayList<>(members.size());
+        for (Object member : members) entries.add(decode((String) member));
+        return entries;
+    }
+
+    @Override
+    public int offer(Job job, List<PriorityFrontier.Entry> entries, List<Integer> priorities) {
+        if (entries.isEmpty()) return 0;
+        String crawlId = job.crawlId();
+        Object[] args = new Object[1 + 3 * entries.size()];
+        args[0] = String.valueOf(job.limits().maxFrontier());
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            args[1 + 3 * i] = Long.toHexString(FingerprintVisitedSet.fingerprint(entry.url()));
+            args[2 + 3 * i] = encode(entry);
+            args[3 + 3 * i] = String.valueOf(priorities.get(i));
+        }
+        Long added = redis.execute(OFFER,
+                List.of(key(crawlId, "visited"), key(crawlId, "frontier"), key(crawlId, "seq"), key(crawlId, "done")),
+                args);
+        return added == null ? 0 : added.intValue();
+    }
+
+    @Override
+    public void complete(String crawlId, PriorityFrontier.Entry entry) {
+        String member = encode(entry);
+        redis.opsForZSet().remove(key(crawlId, "leased"), member);
+        redis.opsForHash().delete(key(crawlId, "lease-scores"), member);
+    }
+
+    @Override
+    public boolean addResult(Job job, String url) {
+        String crawlId = job.crawlId();
+        List<?> outcome = redis.execute(ADD_RESULT,
+                List.of(key(crawlId, "results"), key(crawlId, "done")),
+                url, String.valueOf(job.limits().maxResults()));
+        if (outcome == null || outcome.size() < 2) return false;
+        if (Long.valueOf(1).equals(outcome.get(1))) deactivate(crawlId);
+        return Long.valueOf(1).equals(outcome.get(0));
+    }
+
+    @Override
+    public List<String> results(String crawlId) {
+        Set<String> urls = redis.opsForSet().members(key(crawlId, "results"));
+        return urls == null ? List.of() : urls.stream().sorted().toList();
+    }
+
+    @Override
+    public boolean isDone(String crawlId) {
+        return Boolean.TRUE.equals(redis.hasKey(key(crawlId, "done")));
+    }
+
+    @Override
+    public void cancel(String crawlId) {
+        redis.execute(CANCEL, List.of(key(crawlId, "done"), key(crawlId, "frontier"), key(crawlId, "leased"),
+                key(crawlId, "lease-scores")));
+        deactivate(crawlId);
+    }
+
+    @Override
+    public void expire(String crawlId, Duration retention) {
+        for (String part : List.of("job", "frontier", "leased", "lease-scores", "visited", "seq", "pages", "results", "done")) {
+            redis.expire(key(crawlId, part), retention);
+        }
+    }
+
+    private void deactivate(String crawlId) {
+        redis.opsForSet().remove(CRAWLS, crawlId);
+    }
+
+    private static String key(String crawlId, String part) {
+        return "crawler:crawl:{" + crawlId + "}:" + part;
+    }
+
+    static String encode(PriorityFrontier.Entry entry) {
+        return entry.depth() + " " + entry.url(); // canonical URLs never contain a space
+    }
+
+    static PriorityFrontier.Entry decode(String member) {
+        int sp = member.indexOf(' ');
+        return new PriorityFrontier.Entry(member.substring(sp + 1), Integer.parseInt(member, 0, sp, 10));
+    }
+
+    private static <T> RedisScript<T> script(String name, Class<T> type) {
+        return RedisScript.of(new ClassPathResource("redis/" + name), type);
+    }
+}
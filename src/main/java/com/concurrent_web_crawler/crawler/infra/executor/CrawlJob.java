@@ -1,93 +1,180 @@
 package com.concurrent_web_crawler.crawler.infra.executor;
 
+import com.concurrent_web_crawler.crawler.infra.cache.PageCache;
+import com.concurrent_web_crawler.crawler.infra.http.FetchProperties;
+import com.concurrent_web_crawler.crawler.infra.http.StreamingPageFetcher;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.infra.metrics.CrawlMetrics;
+import com.concurrent_web_crawler.crawler.model.CrawlCheckpoint;
+import com.concurrent_web_crawler.crawler.model.CrawlProgress;
 import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.port.out.CrawlCheckpointPort;
 import com.concurrent_web_crawler.crawler.port.out.CrawlStarterPort;
-import com.concurrent_web_crawler.crawler.util.HtmlUrlUtils;
+import com.concurrent_web_crawler.crawler.util.HtmlLinkTokenizer;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.Set;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Phaser;
 
 @Component
+@ConditionalOnProperty(name = "crawler.engine", havingValue = "per-crawl", matchIfMissing = true)
 @RequiredArgsConstructor
 public class CrawlJob implements CrawlStarterPort {
 
-    private static final int MAX_RESULTS = 100;
-    private static final int MAX_PAGES   = 10_000;
-    private static final int MAX_FRONTIER = 50_000;
-
-    private final RestTemplate http;
+    private final PageCache pageCache;
+    private final StreamingPageFetcher streamingFetcher;
+    private final FetchProperties fetchProperties;
+    private final SiteIndex siteIndex;
     private final ExecutorService virtualThreadExecutor;
+    private final UrlCanonicalizer urlCanonicalizer;
+    private final CrawlCheckpointPort checkpoints;
+    private final CrawlMetrics metrics;
 
-    @Value("${crawler.base-url}")
-    private String baseUrl;
+    @Value("${crawler.max-in-flight:64}")
+    private int maxInFlight;
 
     @Override
     public void start(CrawlState state) {
         virtualThreadExecutor.submit(() -> {
-            state.getFrontier().add(baseUrl);
-            runWaves(state);
+            state.setJournal(checkpoints.open(state));
+            if (state.getBudget().tryReserveFrontierSlot()) {
+                var seed = new PriorityFrontier.Entry(urlCanonicalizer.root(), 0);
+                state.getFrontier().add(seed);
+                state.getJournal().enqueued(seed, 0);
+            }
+            runPipeline(state);
         });
     }
 
-    private void runWaves(CrawlState state) {
-        while (!state.getFrontier().isEmpty() && underLimits(state)) {
-            submitWave(state);
-        }
-        state.markDone(); // mark once, idempotent
+    @Override
+    public boolean resume(CrawlState state, CrawlCheckpoint checkpoint) {
+        virtualThreadExecutor.submit(() -> {
+            var budget = state.getBudget();
+            for (String url : checkpoint.processed()) {
+                if (state.getVisited().add(url)) budget.tryReservePage();
+            }
+            checkpoint.results().forEach(state::addResult);
+            for (var queued : checkpoint.frontier()) {
+                if (!budget.tryReserveFrontierSlot()) break;
+                state.getFrontier().offer(new PriorityFrontier.Entry(queued.url(), queued.depth()), queued.priority());
+            }
+            state.setJournal(checkpoints.reopen(checkpoint));
+            runPipeline(state);
+        });
+        return true;
     }
 
-    private void submitWave(CrawlState state) {
-        var phaser = new Phaser(1);
-        while (!state.getFrontier().isEmpty() && underLimits(state)) {
-            String url = state.getFrontier().poll();
-            if (url == null) break;
-            if (!state.getVisited().add(url)) continue;
-
-            phaser.register();
-            virtualThreadExecutor.submit(() -> {
-                try {
-                    processUrl(state, url);
-                } catch (Exception ignored) {
-                } finally {
-                    phaser.arriveAndDeregister();
-                }
-            });
-        }
-        phaser.arriveAndDeregister();
-        try {
-            phaser.awaitAdvanceInterruptibly(0);
+    private void runPipeline(CrawlState state) {
+        var scheduler = new FrontierScheduler(virtualThreadExecutor, maxInFlight, metrics::taskFailed);
+        state.onAbort(scheduler::abort);
+        long startedAt = System.currentTimeMillis();
+        var crawl = metrics.startCrawl(state);
+        try (var _ = crawl.openScope()) {
+            scheduler.run(
+                    state.getFrontier(),
+                    entry -> claim(state, entry),
+                    () -> !state.getBudget().exhausted(),
+                    entry -> processUrl(state, entry)
+            );
+            if (!state.done() && !state.getBudget().exhausted() && sweptIntoIndex(state)) siteIndex.markSweepComplete(startedAt);
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
+        } finally {
+            state.markDone(); // mark once, idempotent
+            state.getJournal().close();
+            metrics.crawlFinished(state, crawl);
         }
     }
 
-    private static boolean underLimits(CrawlState s) {
-        return s.resultsCount() < MAX_RESULTS && s.getVisited().size() < MAX_PAGES;
+    // the index answers keywords on its own after a complete sweep, so every page must have reached it:
+    // streamed pages bypass the page cache and index, and failed fetches left nothing to index
+    private boolean sweptIntoIndex(CrawlState state) {
+        var progress = state.getProgress();
+        return !fetchProperties.isStreaming()
+                && progress.errors(CrawlProgress.ErrorCategory.NETWORK) == 0
+                && progress.errors(CrawlProgress.ErrorCategory.SERVER_ERROR) == 0;
+    }
+
+    // every polled entry gives its frontier slot back; a page slot is only taken for unseen URLs
+    private boolean claim(CrawlState state, PriorityFrontier.Entry entry) {
+        state.getBudget().releaseFrontierSlot();
+        if (!state.getVisited().add(entry.url())) {
+            metrics.dedupe(true);
+            return false;
+        }
+        return state.getBudget().tryReservePage();
     }
 
-    private void processUrl(CrawlState state, String urlStr) {
-        var resp = http.getForEntity(urlStr, String.class);
-        if (!resp.getStatusCode().is2xxSuccessful() || resp.getBody() == null) return;
-        var ct = resp.getHeaders().getContentType();
-        if (ct == null || !"text".equalsIgnoreCase(ct.getType()) || !"html".equalsIgnoreCase(ct.getSubtype())) return;
+    private void processUrl(CrawlState state, PriorityFrontier.Entry entry) {
+        var progress = state.getProgress();
+        progress.fetchStarted();
+        try {
+            boolean processed = fetchProperties.isStreaming() ? processStreaming(state, entry) : processPage(state, entry);
+            // the page's links are journaled by now; a page cut short by a crash is fetched again on resume
+            if (processed) state.getJournal().processed(entry.url());
+        } finally {
+            progress.fetchFinished();
+        }
+    }
 
-        String body = resp.getBody();
-        if (HtmlUrlUtils.containsKeyword(body, state.getKeyword())) {
+    /** False if the crawl was interrupted before the page was fully handled. */
+    private boolean processPage(CrawlState state, PriorityFrontier.Entry entry) {
+        String urlStr = entry.url();
+        FetchedPage page;
+        try {
+            page = pageCache.get(urlStr);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        state.getProgress().record(page);
+        if (page == null || !page.html()) return true;
+
+        boolean matched = state.getMatcher().matches(page.content());
+        if (matched) {
             state.addResult(urlStr);
         }
-        Set<String> links = HtmlUrlUtils.extractLinks(body);
-        for (String link : links) {
-            String normalized = HtmlUrlUtils.normalizeAndFilterUrl(baseUrl, link);
-            if (normalized == null) continue;
-            if (state.getVisited().contains(normalized)) continue;
-            if (state.getFrontier().size() >= MAX_FRONTIER) continue;
-            if (!underLimits(state)) continue;
-            state.getFrontier().add(normalized);
+        List<String> links = page.links();
+        for (int i = 0; i < links.size(); i++) {
+            enqueue(state, links.get(i), page.anchor(i), entry.depth() + 1, matched);
         }
+        return true;
+    }
+
+    // links are enqueued while the body is still downloading (before the page is known to match);
+    // the page itself is never buffered or cached
+    private boolean processStreaming(CrawlState state, PriorityFrontier.Entry entry) {
+        var links = HtmlLinkTokenizer.LinkSink.withAnchors(
+                (link, anchor) -> enqueue(state, link, anchor, entry.depth() + 1, false));
+        try {
+            if (streamingFetcher.scan(entry.url(), state.getMatcher(), links)) {
+                state.addResult(entry.url());
+            }
+            state.getProgress().fetched(0);
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void enqueue(CrawlState state, String normalized, String anchor, int depth, boolean parentMatched) {
+        var budget = state.getBudget();
+        if (budget.exhausted()) return;
+        boolean seen = state.getVisited().contains(normalized);
+        metrics.dedupe(seen);
+        if (seen || !budget.tryReserveFrontierSlot()) return;
+        var matcher = state.getMatcher();
+        int priority = PriorityFrontier.priority(depth, parentMatched,
+                !anchor.isEmpty() && matcher.matches(anchor), matcher.matches(normalized));
+        var next = new PriorityFrontier.Entry(normalized, depth);
+        state.getFrontier().offer(next, priority);
+        state.getJournal().enqueued(next, priority);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.limits")
+public class CrawlLimitsProperties {
+    private int maxPages = 10_000;
+    private int maxResults = 100;
+    private int maxFrontier = 50_000;
+
+    public CrawlLimits defaults() {
+        return new CrawlLimits(maxPages, maxResults, maxFrontier);
+    }
+
+    /** The configured limits with the per-request overrides applied; null keeps the default. */
+    public CrawlLimits resolve(Integer requestedPages, Integer requestedResults) {
+        return new CrawlLimits(
+                requestedPages == null ? maxPages : requestedPages,
+                requestedResults == null ? maxResults : requestedResults,
+                maxFrontier);
+    }
+}
@@ -0,0 +1,178 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import com.concurrent_web_crawler.crawler.infra.cache.PageCache;
+import com.concurrent_web_crawler.crawler.infra.distributed.DistributedProperties;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.port.out.CrawlStarterPort;
+import com.concurrent_web_crawler.crawler.port.out.DistributedFrontierPort;
+import com.concurrent_web_crawler.crawler.util.KeywordMatcher;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Crawl engine whose frontier, visited set and results live in a
+ * {@link DistributedFrontierPort}, so every node running this engine works on
+ * every active crawl. Each node leases batches of URLs, fetches them through
+ * its own page cache and reports links and matches back to the store; the node
+ * that accepted a crawl mirrors its results into the local {@link CrawlState}.
+ */
+@Component
+@ConditionalOnProperty(name = "crawler.engine", havingValue = "distributed")
+@RequiredArgsConstructor
+public class DistributedCrawlEngine implements CrawlStarterPort {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedCrawlEngine.class);
+
+    private final DistributedFrontierPort frontier;
+    private final DistributedProperties props;
+    private final PageCache pageCache;
+    private final ExecutorService virtualThreadExecutor;
+    private final UrlCanonicalizer urlCanonicalizer;
+
+    @Value("${crawler.max-in-flight:64}")
+    private int maxInFlight;
+
+    // crawls accepted by this node; their progress counts the pages this node fetches for them
+    private final Map<String, CrawlState> local = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    @Override
+    public void start(CrawlState state) {
+        var job = new DistributedFrontierPort.Job(state.getId(), state.getKeyword(), state.getBudget().limits());
+        frontier.create(job, urlCanonicalizer.root());
+        local.put(state.getId(), state);
+        state.onAbort(() -> frontier.cancel(job.crawlId()));
+        virtualThreadExecutor.submit(() -> follow(state));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorker() {
+        running = true;
+        virtualThreadExecutor.submit(this::work);
+    }
+
+    @PreDestroy
+    public void stopWorker() {
+        running = false;
+    }
+
+    private void follow(CrawlState state) {
+        String id = state.getId();
+        try {
+            while (!state.done()) {
+                boolean done = frontier.isDone(id);
+                for (String url : frontier.results(id)) state.addResult(url);
+                if (done) break;
+                Thread.sleep(props.getPollInterval());
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Lost track of distributed crawl {}", id, e);
+        } finally {
+            local.remove(id);
+            state.markDone();
+            frontier.expire(id, props.getRetention());
+        }
+    }
+
+    private void work() {
+        var slots = new Semaphore(maxInFlight);
+        Map<String, Crawl> crawls = new HashMap<>();
+        while (running) {
+            try {
+                List<String> ids = frontier.activeCrawls();
+                crawls.keySet().retainAll(ids);
+                boolean polled = false;
+                for (String id : ids) {
+                    int room = Math.min(props.getBatchSize(), slots.availablePermits());
+                    if (room == 0) break;
+                    Crawl crawl = crawls.computeIfAbsent(id, this::load);
+                    if (crawl == null) continue;
+                    for (var entry : frontier.poll(crawl.job(), room, props.getLeaseTimeout())) {
+                        slots.acquire();
+                        polled = true;
+                        virtualThreadExecutor.submit(() -> {
+                            try {
+                                process(crawl, entry);
+                            } finally {
+                                frontier.complete(id, entry);
+                                slots.release();
+                            }
+                        });
+                    }
+                }
+                if (!polled) Thread.sleep(props.getPollInterval());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Distributed frontier unavailable, retrying", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private Crawl load(String id) {
+        return frontier.job(id).map(job -> new Crawl(job, KeywordMatcher.compile(job.keyword()))).orElse(null);
+    }
+
+    private void process(Crawl crawl, PriorityFrontier.Entry entry) {
+        CrawlState state = local.get(crawl.job().crawlId());
+        if (state != null) state.getProgress().fetchStarted();
+        FetchedPage page;
+        try {
+            page = pageCache.get(entry.url());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            if (state != null) state.getProgress().fetchFinished();
+        }
+        if (state != null) state.getProgress().record(page);
+        if (page == null || !page.html()) return;
+
+        boolean matched = crawl.matcher().matches(page.content());
+        if (matched) frontier.addResult(crawl.job(), entry.url());
+
+        List<String> links = page.links();
+        List<PriorityFrontier.Entry> entries = new ArrayList<>(links.size());
+        List<Integer> priorities = new ArrayList<>(links.size());
+        for (int i = 0; i < links.size(); i++) {
+            String anchor = page.anchor(i);
+            entries.add(new PriorityFrontier.Entry(links.get(i), entry.depth() + 1));
+            priorities.add(PriorityFrontier.priority(entry.depth() + 1, matched,
+                    !anchor.isEmpty() && crawl.matcher().matches(anchor), crawl.matcher().matches(links.get(i))));
+        }
+        frontier.offer(crawl.job(), entries, priorities);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(props.getPollInterval());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private record Crawl(DistributedFrontierPort.Job job, KeywordMatcher matcher) {}
+}
@@ -0,0 +1,156 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Continuous frontier scheduler: every finished task frees a slot that is
+ * immediately refilled from the frontier, so a slow page only holds its own
+ * slot instead of stalling a whole wave. The crawl is over once the frontier
+ * is empty and nothing is in flight, or as soon as it is aborted.
+ */
+final class FrontierScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(FrontierScheduler.class);
+
+    private final ExecutorService executor;
+    private final Consumer<? super Exception> onFailure;
+    private final Semaphore slots;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition progress = lock.newCondition();
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private volatile boolean aborted;
+
+    FrontierScheduler(ExecutorService executor, int maxInFlight) {
+        this(executor, maxInFlight, _ -> {});
+    }
+
+    /** {@code onFailure} sees every exception a task throws; the crawl itself carries on. */
+    FrontierScheduler(ExecutorService executor, int maxInFlight, Consumer<? super Exception> onFailure) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be >= 1");
+        this.executor = executor;
+        this.slots = new Semaphore(maxInFlight);
+        this.onFailure = onFailure;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Stops dispatching and interrupts the running tasks, so they stop waiting
+     * and return. A blocking {@code HttpClient.send} (the streaming path) is
+     * cancelled by the interrupt. A page cache load is not: it is shared with
+     * other crawls and finishes in the background within
+     * {@code crawler.fetch.request-timeout}. Meant for executors that run each
+     * task on its own (virtual) thread, so an interrupt never reaches an
+     * unrelated task.
+     */
+    void abort() {
+        aborted = true;
+        for (Thread worker : workers) worker.interrupt();
+        signalProgress();
+    }
+
+    /**
+     * Dispatches frontier entries until {@code keepGoing} turns false or the
+     * frontier is exhausted, then waits for the in-flight tasks to finish.
+     * Tasks must publish new frontier entries before they return.
+     */
+    <T> void run(Queue<T> frontier,
+                 Predicate<? super T> claim,
+                 BooleanSupplier keepGoing,
+                 Consumer<? super T> task) throws InterruptedException {
+        while (!aborted && keepGoing.getAsBoolean()) {
+            T url = frontier.poll();
+            if (url == null) {
+                // workers enqueue their links before leaving inFlight, so zero in flight
+                // plus an empty frontier means there is nothing left to discover
+                if (inFlight.get() == 0) {
+                    if (frontier.isEmpty()) break;
+                    continue;
+                }
+                awaitProgress(frontier);
+                continue;
+            }
+            if (!claim.test(url)) continue;
+            dispatch(url, task);
+        }
+        awaitQuiescence();
+    }
+
+    private <T> void dispatch(T url, Consumer<? super T> task) throws InterruptedException {
+        slots.acquire();
+        if (aborted) {
+            slots.release();
+            return;
+        }
+        inFlight.incrementAndGet();
+        try {
+            executor.submit(() -> {
+                Thread worker = Thread.currentThread();
+                workers.add(worker);
+                try {
+                    if (!aborted) task.accept(url);
+                } catch (Exception e) {
+                    log.warn("Crawl task failed for {}", url, e);
+                    onFailure.accept(e);
+                } finally {
+                    workers.remove(worker);
+                    inFlight.decrementAndGet();
+                    slots.release();
+                    signalProgress();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            slots.release();
+            throw e;
+        }
+    }
+
+    private void awaitProgress(Queue<?> frontier) throws InterruptedException {
+        lock.lock();
+        try {
+            while (!aborted && frontier.isEmpty() && inFlight.get() > 0) {
+                progress.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitQuiescence() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight.get() > 0) {
+                progress.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalProgress() {
+        lock.lock();
+        try {
+            progress.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import com.concurrent_web_crawler.crawler.infra.cache.PageCache;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.model.CrawlBudget;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.port.out.CrawlStarterPort;
+import com.concurrent_web_crawler.crawler.util.MultiKeywordMatcher;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import com.concurrent_web_crawler.crawler.util.VisitedSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-pass crawl engine: one traversal of the site ("sweep") serves every
+ * active crawl. Each page is fetched once and matched against all pending
+ * keywords with one Aho–Corasick scan. Crawls joining a running sweep first
+ * replay the pages it already visited (served from the page cache) and then
+ * receive live matches until the sweep ends.
+ */
+@Component
+@ConditionalOnProperty(name = "crawler.engine", havingValue = "shared")
+@RequiredArgsConstructor
+public class SharedCrawlEngine implements CrawlStarterPort {
+
+    private final PageCache pageCache;
+    private final SiteIndex siteIndex;
+    private final ExecutorService virtualThreadExecutor;
+    private final UrlCanonicalizer urlCanonicalizer;
+    private final VisitedSetProperties visitedSetProperties;
+    private final CrawlLimitsProperties crawlLimitsProperties;
+
+    @Value("${crawler.max-in-flight:64}")
+    private int maxInFlight;
+
+    private final Object lock = new Object();
+    private Sweep current;
+
+    @Override
+    public void start(CrawlState state) {
+        synchronized (lock) {
+            if (current != null && current.join(state)) return;
+            Sweep sweep = new Sweep();
+            sweep.join(state);
+            current = sweep;
+            virtualThreadExecutor.submit(() -> run(sweep));
+        }
+    }
+
+    private void run(Sweep sweep) {
+        if (sweep.budget.tryReserveFrontierSlot()) sweep.frontier.add(urlCanonicalizer.root());
+        long startedAt = System.currentTimeMillis();
+        try {
+            sweep.scheduler.run(
+                    sweep.frontier,
+                    sweep::claim,
+                    () -> sweep.hasSubscribers() && !sweep.budget.exhausted(),
+                    sweep::process
+            );
+            if (sweep.frontier.isEmpty() && sweep.hasSubscribers() && !sweep.budget.exhausted()) siteIndex.markSweepComplete(startedAt);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (lock) {
+                if (current == sweep) current = null;
+                sweep.close();
+            }
+        }
+    }
+
+    private final class Sweep {
+        private final VisitedSet visited = visitedSetProperties.newVisitedSet();
+        // the sweep is shared, so its page and frontier limits are the configured defaults;
+        // per-crawl result limits are enforced by each subscriber's own budget
+        private final CrawlBudget budget = new CrawlBudget(crawlLimitsProperties.defaults());
+        private final ConcurrentLinkedQueue<String> frontier = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<String> fetched = new ConcurrentLinkedQueue<>();
+        private final FrontierScheduler scheduler = new FrontierScheduler(virtualThreadExecutor, maxInFlight);
+        private volatile Subscribers subscribers = Subscribers.EMPTY;
+        private boolean closed; // guarded by SharedCrawlEngine.lock
+
+        boolean join(CrawlState state) {
+            if (closed) return false;
+            var subscription = new Subscription(state);
+            synchronized (this) {
+                subscribers = subscribers.with(subscription);
+            }
+            state.onAbort(() -> leave(subscription));
+            // published before replaying: pages recorded after this point see the new subscriber
+            virtualThreadExecutor.submit(() -> replay(subscription));
+            return true;
+        }
+
+        boolean hasSubscribers() {
+            return !subscribers.all.isEmpty();
+        }
+
+        boolean claim(String url) {
+            budget.releaseFrontierSlot();
+            return visited.add(url) && budget.tryReservePage();
+        }
+
+        // every subscriber is served by the sweep's fetches, so each one counts them
+        void process(String url) {
+            Subscribers fetching = subscribers;
+            for (Subscription sub : fetching.all) sub.state.getProgress().fetchStarted();
+            FetchedPage page;
+            try {
+                page = pageCache.get(url);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                for (Subscription sub : fetching.all) sub.state.getProgress().fetchFinished();
+            }
+            for (Subscription sub : subscribers.all) sub.state.getProgress().record(page);
+            if (page == null || !page.html()) return;
+
+            // added before reading the subscribers: a crawl joining in between either is in the
+            // snapshot or replays the page, and offer() drops the copy when it is both
+            fetched.add(url);
+            Subscribers subs = subscribers;
+            BitSet matched = subs.matcher.matchAll(page.content());
+            for (int k = matched.nextSetBit(0); k >= 0; k = matched.nextSetBit(k + 1)) {
+                for (Subscription sub : subs.byKeyword.get(k)) {
+                    offer(sub, url);
+                }
+            }
+            for (String normalized : page.links()) {
+                if (visited.contains(normalized) || !budget.tryReserveFrontierSlot()) continue;
+                frontier.add(normalized);
+            }
+        }
+
+        private void replay(Subscription sub) {
+            try {
+                for (String url : fetched) {
+                    if (sub.state.done()) break;
+                    FetchedPage page = pageCache.getIfPresent(url);
+                    if (page == null) page = pageCache.get(url);
+                    if (page != null && page.html() && sub.state.getMatcher().matches(page.content())) {
+                        offer(sub, url);
+                    }
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } finally {
+                sub.arrive();
+            }
+        }
+
+        private void offer(Subscription sub, String url) {
+            if (sub.state.done() || !sub.offered.add(url)) return;
+            sub.state.addResult(url); // taking the last result slot finishes the crawl, which leaves the sweep
+        }
+
+        // fetches in flight are shared with other crawls; the sweep only stops waiting on them once nobody is left
+        private void leave(Subscription sub) {
+            synchronized (lock) {
+                synchronized (this) {
+                    subscribers = subscribers.without(sub);
+                }
+                if (!subscribers.all.isEmpty()) return;
+                closed = true; // later crawls start a fresh sweep instead of joining an aborted one
+            }
+            scheduler.abort();
+        }
+
+        void close() {
+            closed = true;
+            for (Subscription sub : subscribers.all) sub.arrive();
+        }
+    }
+
+    private static final class Subscription {
+        private final CrawlState state;
+        // the crawl is complete once both its replay and the sweep have finished
+        private final AtomicInteger pending = new AtomicInteger(2);
+        // the sweep and the replay may both deliver a page fetched while the crawl joined
+        private final Set<String> offered = ConcurrentHashMap.newKeySet();
+
+        Subscription(CrawlState state) {
+            this.state = state;
+        }
+
+        void arrive() {
+            if (pending.decrementAndGet() == 0) state.markDone();
+        }
+    }
+
+    private record Subscribers(List<Subscription> all, MultiKeywordMatcher matcher, List<List<Subscription>> byKeyword) {
+        static final Subscribers EMPTY = of(List.of());
+
+        static Subscribers of(List<Subscription> all) {
+            Map<String, List<Subscription>> grouped = new LinkedHashMap<>();
+            for (Subscription sub : all) {
+                grouped.computeIfAbsent(sub.state.getKeyword(), _ -> new ArrayList<>()).add(sub);
+            }
+            var matcher = MultiKeywordMatcher.compile(new ArrayList<>(grouped.keySet()));
+            return new Subscribers(List.copyOf(all), matcher, List.copyOf(grouped.values()));
+        }
+
+        Subscribers with(Subscription sub) {
+            List<Subscription> next = new ArrayList<>(all);
+            next.add(sub);
+            return of(next);
+        }
+
+        Subscribers without(Subscription sub) {
+            List<Subscription> next = new ArrayList<>(all);
+            next.remove(sub);
+            return of(next);
+        }
+    }
+}
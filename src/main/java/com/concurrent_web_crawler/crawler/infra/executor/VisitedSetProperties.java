@@ -0,0 +1,22 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import com.concurrent_web_crawler.crawler.enumerator.VisitedSetMode;
+import com.concurrent_web_crawler.crawler.util.VisitedSet;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.visited")
+public class VisitedSetProperties {
+    private VisitedSetMode mode = VisitedSetMode.FINGERPRINT;
+    private int expectedInsertions = 10_000;
+    private double falsePositiveRate = 0.001; // bloom mode only
+
+    public VisitedSet newVisitedSet() {
+        return VisitedSet.create(mode, expectedInsertions, falsePositiveRate);
+    }
+}
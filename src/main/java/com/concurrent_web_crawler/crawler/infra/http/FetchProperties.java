@@ -0,0 +1,24 @@
+package com.concurrent_web_crawler.crawler.infra.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.fetch")
+public class FetchProperties {
+    private boolean streaming = false;
+    private DataSize maxBodySize = DataSize.ofMegabytes(5);
+    private int chunkSize = 8192;
+    private Duration requestTimeout = Duration.ofSeconds(15);
+    private boolean revalidate = true; // conditional requests for pages already in the site index
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private HttpClient.Version httpVersion = HttpClient.Version.HTTP_2; // falls back to HTTP/1.1 per server
+}
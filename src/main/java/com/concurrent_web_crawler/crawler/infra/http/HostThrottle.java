@@ -0,0 +1,122 @@
+package com.concurrent_web_crawler.crawler.infra.http;
+
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-authority politeness gate shared by every running crawl: a semaphore caps
+ * concurrent connections and a token bucket paces request starts. 429/503
+ * responses widen the pacing interval (honouring Retry-After) and successful
+ * responses slowly bring it back to the configured rate.
+ */
+@Component
+public class HostThrottle {
+
+    private final PolitenessProperties props;
+    private final Map<String, HostBucket> hosts = new ConcurrentHashMap<>();
+
+    public HostThrottle(PolitenessProperties props) {
+        this.props = props;
+    }
+
+    public Permit acquire(URI uri) throws InterruptedException {
+        HostBucket bucket = hosts.computeIfAbsent(key(uri), _ -> new HostBucket());
+        bucket.connections.acquire();
+        try {
+            bucket.awaitSlot();
+        } catch (InterruptedException | RuntimeException e) {
+            bucket.connections.release();
+            throw e;
+        }
+        return new Permit(bucket);
+    }
+
+    private static String key(URI uri) {
+        String authority = uri.getRawAuthority();
+        return authority == null ? "" : authority.toLowerCase(Locale.ROOT);
+    }
+
+    static long parseRetryAfterNanos(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) return 0;
+        String v = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(v)));
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            var at = ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+        } catch (Exception ignored) {
+            return 0;
+        }
+    }
+
+    public final class Permit implements AutoCloseable {
+        private final HostBucket bucket;
+        private boolean released;
+
+        private Permit(HostBucket bucket) {
+            this.bucket = bucket;
+        }
+
+        /** Returns true when the caller should retry after backing off. */
+        public boolean onResponse(int status, String retryAfter) {
+            if (status == 429 || status == 503) {
+                bucket.backOff(parseRetryAfterNanos(retryAfter));
+                return true;
+            }
+            bucket.recover();
+            return false;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                bucket.connections.release();
+            }
+        }
+    }
+
+    private final class HostBucket {
+        private final Semaphore connections = new Semaphore(Math.max(1, props.getMaxConcurrentPerHost()));
+        private final long baseIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(0.001, props.getRequestsPerSecond()));
+        private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+        private final AtomicLong intervalNanos = new AtomicLong(baseIntervalNanos);
+
+        void awaitSlot() throws InterruptedException {
+            long now;
+            long slot;
+            while (true) {
+                now = System.nanoTime();
+                long next = nextSlot.get();
+                slot = Math.max(next, now);
+                if (nextSlot.compareAndSet(next, slot + intervalNanos.get())) break;
+            }
+            long wait = slot - now;
+            if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+        }
+
+        void backOff(long retryAfterNanos) {
+            long maxNanos = props.getMaxBackoff().toNanos();
+            long widened = intervalNanos.updateAndGet(
+                    i -> Math.min(maxNanos, Math.max(i + 1, (long) (i * props.getBackoffMultiplier()))));
+            long pauseUntil = System.nanoTime() + Math.min(maxNanos, Math.max(widened, retryAfterNanos));
+            nextSlot.accumulateAndGet(pauseUntil, Math::max);
+        }
+
+        void recover() {
+            intervalNanos.updateAndGet(i -> i <= baseIntervalNanos ? i : Math.max(baseIntervalNanos, i - (i - baseIntervalNanos) / 4));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.concurrent_web_crawler.crawler.infra.http;
+
+import com.concurrent_web_crawler.crawler.infra.metrics.CrawlMetrics;
+import com.concurrent_web_crawler.crawler.model.FetchResult;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.model.PageValidators;
+import com.concurrent_web_crawler.crawler.port.out.PageFetcherPort;
+import com.concurrent_web_crawler.crawler.util.HtmlLinkTokenizer;
+import com.concurrent_web_crawler.crawler.util.HtmlUrlUtils;
+import com.concurrent_web_crawler.crawler.util.ResolvingLinkSink;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Non-blocking fetcher on {@link HttpClient#sendAsync}: no thread waits on the
+ * socket, HTTP/2 connections are multiplexed, bodies are compressed on the wire
+ * and collected as bytes up to {@code crawler.fetch.max-body-size}. Bodies of
+ * non-HTML or failed responses are discarded without being read into memory,
+ * and known validators turn the request into a conditional one.
+ */
+@Component
+@RequiredArgsConstructor
+public class HttpPageFetcher implements PageFetcherPort {
+
+    private final HttpClient httpClient;
+    private final HostThrottle hostThrottle;
+    private final PolitenessProperties politeness;
+    private final FetchProperties fetchProperties;
+    private final UrlCanonicalizer urlCanonicalizer;
+    private final ExecutorService virtualThreadExecutor;
+    private final CrawlMetrics metrics;
+
+    @Override
+    public CompletableFuture<FetchResult> fetch(String url, PageValidators known) {
+        URI uri = URI.create(url);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(fetchProperties.getRequestTimeout())
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+        if (known.etag() != null) request.header("If-None-Match", known.etag());
+        if (known.lastModified() != null) request.header("If-Modified-Since", known.lastModified());
+        return send(request.build(), 0).thenApply(resp -> resp.statusCode() == 304
+                ? FetchResult.notModified(known)
+                : new FetchResult(toPage(url, resp), validators(resp.headers())));
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, int attempt) {
+        // waiting for a politeness slot blocks, so it happens on a virtual thread rather than the caller
+        return CompletableFuture.supplyAsync(() -> acquire(request.uri()), virtualThreadExecutor)
+                .thenCompose(permit -> {
+                    CompletableFuture<HttpResponse<byte[]>> sent;
+                    long startedAt = System.nanoTime();
+                    metrics.fetchStarted();
+                    try {
+                        sent = httpClient.sendAsync(request, this::bodySubscriber);
+                    } catch (RuntimeException e) {
+                        metrics.fetchCompleted(request.uri(), -1, System.nanoTime() - startedAt, 0);
+                        permit.close();
+                        throw e;
+                    }
+                    return sent.handle((resp, err) -> {
+                        try {
+                            metrics.fetchCompleted(request.uri(), resp == null ? -1 : resp.statusCode(),
+                                    System.nanoTime() - startedAt, resp == null || resp.body() == null ? 0 : resp.body().length);
+                            if (err != null) return CompletableFuture.<HttpResponse<byte[]>>failedFuture(err);
+                            boolean retry = permit.onResponse(resp.statusCode(),
+                                    resp.headers().firstValue("Retry-After").orElse(null));
+                            if (retry && attempt < politeness.getMaxRetries()) return send(request, attempt + 1);
+                            return CompletableFuture.completedFuture(resp);
+                        } finally {
+                            permit.close();
+                        }
+                    }).thenCompose(next -> next);
+                });
+    }
+
+    private HostThrottle.Permit acquire(URI uri) {
+        try {
+            return hostThrottle.acquire(uri);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ie);
+        }
+    }
+
+    private static PageValidators validators(HttpHeaders headers) {
+        return new PageValidators(headers.firstValue("ETag").orElse(null), headers.firstValue("Last-Modified").orElse(null));
+    }
+
+    private HttpResponse.BodySubscriber<byte[]> bodySubscriber(HttpResponse.ResponseInfo info) {
+        int status = info.statusCode();
+        if (status < 200 || status >= 300 || !isHtml(contentType(info.headers()))) {
+            return HttpResponse.BodySubscribers.replacing(null);
+        }
+        return new LimitedBodySubscriber(fetchProperties.getMaxBodySize().toBytes());
+    }
+
+    private FetchedPage toPage(String url, HttpResponse<byte[]> resp) {
+        if (resp.body() == null) return FetchedPage.empty(url, resp.statusCode());
+        long startedAt = System.nanoTime();
+        String body;
+        try {
+            body = decode(resp);
+        } catch (IOException e) {
+            return FetchedPage.empty(url);
+        }
+        Map<String, String> links = new LinkedHashMap<>();
+        HtmlUrlUtils.forEachLink(body, new ResolvingLinkSink(urlCanonicalizer, url, HtmlLinkTokenizer.LinkSink.withAnchors(
+                (href, anchor) -> links.merge(href, anchor, (first, next) -> first.isEmpty() ? next : first))));
+        metrics.parsed(System.nanoTime() - startedAt, links.size());
+        return new FetchedPage(url, body, List.copyOf(links.keySet()), List.copyOf(links.values()));
+    }
+
+    private String decode(HttpResponse<byte[]> resp) throws IOException {
+        MediaType ct = contentType(resp.headers());
+        Charset charset = ct != null && ct.getCharset() != null ? ct.getCharset() : StandardCharsets.UTF_8;
+        byte[] raw = resp.body();
+        String encoding = resp.headers().firstValue("Content-Encoding").orElse("identity").trim().toLowerCase(Locale.ROOT);
+        InputStream in = switch (encoding) {
+            case "identity", "" -> null;
+            case "gzip", "x-gzip" -> new GZIPInputStream(new ByteArrayInputStream(raw));
+            case "deflate" -> new InflaterInputStream(new ByteArrayInputStream(raw));
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+        if (in == null) return new String(raw, charset);
+        try (in) {
+            // the size limit also applies to the decompressed page
+            return new String(in.readNBytes((int) fetchProperties.getMaxBodySize().toBytes()), charset);
+        }
+    }
+
+    private static boolean isHtml(MediaType ct) {
+        return ct != null && "text".equalsIgnoreCase(ct.getType()) && "html".equalsIgnoreCase(ct.getSubtype());
+    }
+
+    private static MediaType contentType(HttpHeaders headers) {
+        try {
+            return headers.firstValue("Content-Type").map(MediaType::parseMediaType).orElse(null);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    /** Collects the body up to {@code limit} bytes, then cancels the rest of the download. */
+    static final class LimitedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final long limit;
+        private Flow.Subscription subscription;
+
+        LimitedBodySubscriber(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) return;
+            for (ByteBuffer item : items) {
+                int n = (int) Math.min(item.remaining(), limit - out.size());
+                if (item.hasArray()) {
+                    out.write(item.array(), item.arrayOffset() + item.position(), n);
+                } else {
+                    byte[] chunk = new byte[n];
+                    item.get(chunk);
+                    out.write(chunk, 0, n);
+                }
+                if (out.size() >= limit) {
+                    subscription.cancel();
+                    body.complete(out.toByteArray());
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(out.toByteArray());
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+    }
+}
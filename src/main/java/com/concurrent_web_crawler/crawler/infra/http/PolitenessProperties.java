@@ -0,0 +1,20 @@
+package com.concurrent_web_crawler.crawler.infra.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.politeness")
+public class PolitenessProperties {
+    private double requestsPerSecond = 10.0;
+    private int maxConcurrentPerHost = 8;
+    private double backoffMultiplier = 2.0;
+    private Duration maxBackoff = Duration.ofSeconds(60);
+    private int maxRetries = 2;
+}
@@ -0,0 +1,115 @@
+package com.concurrent_web_crawler.crawler.infra.http;
+
+import com.concurrent_web_crawler.crawler.infra.metrics.CrawlMetrics;
+import com.concurrent_web_crawler.crawler.util.HtmlLinkTokenizer;
+import com.concurrent_web_crawler.crawler.util.HtmlStreamScanner;
+import com.concurrent_web_crawler.crawler.util.KeywordMatcher;
+import com.concurrent_web_crawler.crawler.util.ResolvingLinkSink;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fetch path that never buffers the whole page: the body is read as a stream,
+ * the keyword is searched and links are emitted while it is still downloading,
+ * and reading stops at {@code crawler.fetch.max-body-size}.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingPageFetcher {
+
+    private final HttpClient httpClient;
+    private final HostThrottle hostThrottle;
+    private final PolitenessProperties politeness;
+    private final UrlCanonicalizer urlCanonicalizer;
+    private final FetchProperties fetchProperties;
+    private final CrawlMetrics metrics;
+
+    /** Streams the page and returns whether the keyword was found; in-site links go to {@code links}. */
+    public boolean scan(String urlStr, KeywordMatcher matcher, HtmlLinkTokenizer.LinkSink links) throws InterruptedException {
+        URI uri = URI.create(urlStr);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(fetchProperties.getRequestTimeout())
+                .GET()
+                .build();
+        for (int attempt = 0; ; attempt++) {
+            try (var permit = hostThrottle.acquire(uri)) {
+                long startedAt = System.nanoTime();
+                metrics.fetchStarted();
+                HttpResponse<InputStream> resp;
+                try {
+                    resp = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                } catch (IOException | InterruptedException e) {
+                    metrics.fetchCompleted(uri, -1, System.nanoTime() - startedAt, 0);
+                    throw e;
+                }
+                // the body is consumed while scanning, so the timer covers the whole download
+                try (InputStream body = resp.body()) {
+                    int status = resp.statusCode();
+                    boolean retry = permit.onResponse(status, resp.headers().firstValue("Retry-After").orElse(null));
+                    if (retry && attempt < politeness.getMaxRetries()) continue;
+                    if (status < 200 || status >= 300) return false;
+
+                    MediaType ct = contentType(resp);
+                    if (ct == null || !"text".equalsIgnoreCase(ct.getType()) || !"html".equalsIgnoreCase(ct.getSubtype())) {
+                        return false;
+                    }
+                    Charset charset = ct.getCharset() != null ? ct.getCharset() : StandardCharsets.UTF_8;
+                    var reader = new InputStreamReader(new LimitedInputStream(body, fetchProperties.getMaxBodySize().toBytes()), charset);
+                    var tokenizer = new HtmlLinkTokenizer(new ResolvingLinkSink(urlCanonicalizer, urlStr, links));
+                    return HtmlStreamScanner.scan(reader, matcher, tokenizer, fetchProperties.getChunkSize());
+                } finally {
+                    metrics.fetchCompleted(uri, resp.statusCode(), System.nanoTime() - startedAt, 0);
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    private static MediaType contentType(HttpResponse<?> resp) {
+        try {
+            return resp.headers().firstValue("Content-Type").map(MediaType::parseMediaType).orElse(null);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.concurrent_web_crawler.crawler.infra.index;
+
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.util.KeywordMatcher;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * On-disk index of fetched pages. Pages are appended to fixed-size memory-mapped
+ * segment files and a trigram inverted index over their case-folded content is
+ * kept in memory (rebuilt from the segments on startup). Substring queries
+ * intersect the trigram postings and verify each candidate with the same
+ * case-insensitive substring match a live crawl uses. Once superseded copies
+ * take up more space than the latest ones, the segments are rewritten with only
+ * the latest copy of each page.
+ */
+@Component
+public class SiteIndex {
+
+    private static final int BUCKETS = 1 << 18;
+    private static final String SWEEP_FILE = "sweep.meta";
+    // v2 records store each link's anchor text; v1 segments are never read and are deleted on open
+    private static final String SEGMENT_NAME = "pages-v2-%05d.seg";
+    private static final Pattern SEGMENT_FILE = Pattern.compile("pages-v2-(\\d{5})\\.seg");
+    private static final Pattern V1_SEGMENT_FILE = Pattern.compile("pages-\\d{5}\\.seg");
+    private static final String COMPACT_DIR = "compact";
+    private static final String COMPACT_DONE = "done";
+
+    private final SiteIndexProperties props;
+    private final Path dir;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<String, DocRef> latest = new ConcurrentHashMap<>();
+    private final List<DocRef> docs = new ArrayList<>();
+    private final int[][] postings = new int[BUCKETS][];
+    private final int[] postingCounts = new int[BUCKETS];
+    private final ReentrantReadWriteLock rw = new ReentrantReadWriteLock();
+    private int writeOffset;
+    private long writtenBytes;
+    private long liveBytes;
+    private volatile long lastCompleteSweepAt;
+
+    public SiteIndex(SiteIndexProperties props) {
+        this.props = props;
+        this.dir = Path.of(props.getDir());
+        if (props.isEnabled()) open();
+    }
+
+    public boolean enabled() {
+        return props.isEnabled();
+    }
+
+    /** Returns the indexed page if it was fetched within the configured max age. */
+    public Optional<FetchedPage> lookup(String url) {
+        return lookup(url, true);
+    }
+
+    /** Returns the latest indexed copy of the page regardless of its age. */
+    public Optional<FetchedPage> lookupStale(String url) {
+        return lookup(url, false);
+    }
+
+    // the ref is resolved under the read lock: a compaction moves every record and reloads the refs
+    private Optional<FetchedPage> lookup(String url, boolean freshOnly) {
+        if (!props.isEnabled()) return Optional.empty();
+        rw.readLock().lock();
+        try {
+            DocRef ref = latest.get(url);
+            if (ref == null || freshOnly && !isFresh(ref.fetchedAt())) return Optional.empty();
+            return Optional.of(read(ref));
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the indexed copy of the page as current again without rewriting it,
+     * e.g. after a 304. Only the in-memory timestamp moves; after a restart the
+     * page is simply revalidated once more.
+     */
+    public void refresh(String url) {
+        if (!props.isEnabled()) return;
+        rw.writeLock().lock();
+        try {
+            DocRef ref = latest.get(url);
+            if (ref == null) return;
+            DocRef refreshed = new DocRef(ref.docId(), url, ref.segment(), ref.offset(), ref.size(), System.currentTimeMillis());
+            docs.set(ref.docId(), refreshed);
+            latest.put(url, refreshed);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    public void put(FetchedPage page) {
+        put(page, System.currentTimeMillis());
+    }
+
+    /** Appends the page; error responses are not indexed, so they are fetched again next time. */
+    public void put(FetchedPage page, long fetchedAt) {
+        if (!props.isEnabled() || !page.ok()) return;
+        byte[] record = encode(page, fetchedAt);
+        if (record.length + Integer.BYTES > props.getSegmentSizeBytes()) return;
+        int[] grams = page.html() ? grams(page.content()) : new int[0];
+
+        rw.writeLock().lock();
+        try {
+            if (!fits(record)) compactIfMostlyGarbage();
+            if (!fits(record)) newSegment();
+            int segment = segments.size() - 1;
+            MappedByteBuffer buf = segments.get(segment);
+            int offset = writeOffset;
+            buf.put(offset + Integer.BYTES, record);
+            buf.putInt(offset, record.length); // length last: a torn record is never replayed
+            writeOffset = offset + Integer.BYTES + record.length;
+            index(new DocRef(docs.size(), page.url(), segment, offset, Integer.BYTES + record.length, fetchedAt), grams);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    public void markSweepComplete(long startedAt) {
+        if (!props.isEnabled()) return;
+        lastCompleteSweepAt = startedAt;
+        try {
+            Files.writeString(dir.resolve(SWEEP_FILE), Long.toString(startedAt));
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Answers a keyword from the index when a full sweep completed within the max
+     * age, or when enough fresh pages already match to fill {@code limit}.
+     */
+    public Optional<List<String>> answer(String keyword, int limit) {
+        if (!props.isEnabled()) return Optional.empty();
+        boolean complete = isFresh(lastCompleteSweepAt);
+        KeywordMatcher matcher = KeywordMatcher.compile(keyword);
+        List<String> urls = new ArrayList<>();
+        rw.readLock().lock();
+        try {
+            for (int docId : candidates(keyword)) {
+                DocRef ref = docs.get(docId);
+                if (latest.get(ref.url()) != ref || !isFresh(ref.fetchedAt())) continue;
+                FetchedPage page = read(ref);
+                if (page.html() && matcher.matches(page.content())) {
+                    urls.add(ref.url());
+                    if (urls.size() >= limit) break;
+                }
+            }
+        } finally {
+            rw.readLock().unlock();
+        }
+        return complete || urls.size() >= limit ? Optional.of(urls) : Optional.empty();
+    }
+
+    @PreDestroy
+    public void close() {
+        rw.writeLock().lock();
+        try {
+            for (MappedByteBuffer segment : segments) segment.force();
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    private boolean isFresh(long fetchedAt) {
+        return fetchedAt > 0 && System.currentTimeMillis() - fetchedAt <= props.getMaxAge().toMillis();
+    }
+
+    private int[] candidates(String keyword) {
+        int[] grams = grams(keyword);
+        if (grams.length == 0) return new int[0];
+        int[][] lists = new int[grams.length][];
+        for (int i = 0; i < grams.length; i++) {
+            int count = postingCounts[grams[i]];
+            if (count == 0) return new int[0];
+            lists[i] = Arrays.copyOf(postings[grams[i]], count);
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] acc = lists[0];
+        for (int i = 1; i < lists.length && acc.length > 0; i++) acc = intersect(acc, lists[i]);
+        return acc;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private void index(DocRef ref, int[] grams) {
+        docs.add(ref);
+        DocRef previous = latest.put(ref.url(), ref);
+        if (previous != null) liveBytes -= previous.size();
+        liveBytes += ref.size();
+        writtenBytes += ref.size();
+        for (int g : grams) {
+            int[] list = postings[g];
+            int count = postingCounts[g];
+            if (list == null) list = postings[g] = new int[4];
+            else if (count == list.length) list = postings[g] = Arrays.copyOf(list, count * 2);
+            list[count] = ref.docId();
+            postingCounts[g] = count + 1;
+        }
+    }
+
+    static int[] grams(CharSequence text) {
+        int n = text.length() - 2;
+        if (n <= 0) return new int[0];
+        int[] grams = new int[n];
+        char c0 = fold(text.charAt(0));
+        char c1 = fold(text.charAt(1));
+        for (int i = 0; i < n; i++) {
+            char c2 = fold(text.charAt(i + 2));
+            int h = (c0 * 31 + c1) * 31 + c2;
+            h ^= h >>> 15;
+            h *= 0x2c1b3c6d;
+            h ^= h >>> 12;
+            grams[i] = h & (BUCKETS - 1);
+            c0 = c1;
+            c1 = c2;
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) grams[distinct++] = grams[i];
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static char fold(char c) {
+        return c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c) : Character.toLowerCase(c);
+    }
+
+    private static byte[] encode(FetchedPage page, long fetchedAt) {
+        byte[] url = page.url().getBytes(StandardCharsets.UTF_8);
+        byte[][] links = new byte[page.links().size()][];
+        byte[][] anchors = new byte[links.length][];
+        int size = Long.BYTES + Integer.BYTES + url.length + Integer.BYTES;
+        for (int i = 0; i < links.length; i++) {
+            links[i] = page.links().get(i).getBytes(StandardCharsets.UTF_8);
+            anchors[i] = page.anchor(i).getBytes(StandardCharsets.UTF_8);
+            size += 2 * Integer.BYTES + links[i].length + anchors[i].length;
+        }
+        byte[] content = page.html() ? page.content().getBytes(StandardCharsets.UTF_8) : null;
+        size += Integer.BYTES + (content == null ? 0 : content.length);
+
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putLong(fetchedAt);
+        buf.putInt(url.length).put(url);
+        buf.putInt(links.length);
+        for (int i = 0; i < links.length; i++) {
+            buf.putInt(links[i].length).put(links[i]);
+            buf.putInt(anchors[i].length).put(anchors[i]);
+        }
+        if (content == null) buf.putInt(-1);
+        else buf.putInt(content.length).put(content);
+        return buf.array();
+    }
+
+    private FetchedPage read(DocRef ref) {
+        MappedByteBuffer seg = segments.get(ref.segment());
+        int pos = ref.offset() + Integer.BYTES + Long.BYTES;
+        int urlLen = seg.getInt(pos);
+        pos += Integer.BYTES + urlLen;
+        int linkCount = seg.getInt(pos);
+        pos += Integer.BYTES;
+        List<String> links = new ArrayList<>(linkCount);
+        List<String> anchors = new ArrayList<>(linkCount);
+        for (int i = 0; i < linkCount; i++) {
+            int len = seg.getInt(pos);
+            links.add(string(seg, pos + Integer.BYTES, len));
+            pos += Integer.BYTES + len;
+            len = seg.getInt(pos);
+            anchors.add(string(seg, pos + Integer.BYTES, len));
+            pos += Integer.BYTES + len;
+        }
+        int contentLen = seg.getInt(pos);
+        String content = contentLen < 0 ? null : string(seg, pos + Integer.BYTES, contentLen);
+        return new FetchedPage(ref.url(), content, List.copyOf(links), List.copyOf(anchors));
+    }
+
+    private static String string(MappedByteBuffer seg, int pos, int len) {
+        byte[] bytes = new byte[len];
+        seg.get(pos, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(dir);
+            finishCompaction();
+            load();
+            compactIfMostlyGarbage();
+            if (segments.isEmpty()) newSegment();
+            deleteV1Segments();
+            Path sweep = dir.resolve(SWEEP_FILE);
+            if (Files.exists(sweep)) lastCompleteSweepAt = Long.parseLong(Files.readString(sweep).trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Could not open site index at " + dir, e);
+        }
+    }
+
+    private void load() throws IOException {
+        for (int i = 0; Files.exists(segmentPath(i)); i++) {
+            segments.add(map(segmentPath(i)));
+            writeOffset = replay(i);
+        }
+    }
+
+    private boolean fits(byte[] record) {
+        return writeOffset + Integer.BYTES + record.length + Integer.BYTES <= props.getSegmentSizeBytes();
+    }
+
+    private void compactIfMostlyGarbage() throws IOException {
+        if (writtenBytes - liveBytes > liveBytes) compact();
+    }
+
+    /**
+     * Copies the latest record of every page, in append order, into fresh segments
+     * staged under {@code compact/}, then swaps them in and rebuilds the in-memory
+     * index from them. Refreshed pages keep their refreshed timestamp.
+     */
+    private void compact() throws IOException {
+        Path staged = dir.resolve(COMPACT_DIR);
+        deleteStaged();
+        Files.createDirectories(staged);
+        List<DocRef> live = new ArrayList<>(latest.values());
+        live.sort(Comparator.comparingInt(DocRef::docId));
+        List<MappedByteBuffer> out = new ArrayList<>();
+        out.add(map(staged.resolve(SEGMENT_NAME.formatted(0))));
+        int offset = 0;
+        for (DocRef ref : live) {
+            if (offset + ref.size() + Integer.BYTES > props.getSegmentSizeBytes()) {
+                out.add(map(staged.resolve(SEGMENT_NAME.formatted(out.size()))));
+                offset = 0;
+            }
+            byte[] record = new byte[ref.size() - Integer.BYTES];
+            segments.get(ref.segment()).get(ref.offset() + Integer.BYTES, record);
+            ByteBuffer.wrap(record).putLong(0, ref.fetchedAt());
+            MappedByteBuffer buf = out.getLast();
+            buf.put(offset + Integer.BYTES, record);
+            buf.putInt(offset, record.length);
+            offset += ref.size();
+        }
+        for (MappedByteBuffer segment : out) segment.force();
+        Files.createFile(staged.resolve(COMPACT_DONE));
+        finishCompaction();
+
+        segments.clear();
+        docs.clear();
+        latest.clear();
+        Arrays.fill(postings, null);
+        Arrays.fill(postingCounts, 0);
+        writtenBytes = 0;
+        liveBytes = 0;
+        load();
+    }
+
+    /**
+     * Swaps staged segments in once all of them are on disk, or drops them if the
+     * compaction did not finish. Old segments are deleted before any staged one is
+     * moved, so after a crash the lowest staged index tells old from new.
+     */
+    private void finishCompaction() throws IOException {
+        Path staged = dir.resolve(COMPACT_DIR);
+        if (!Files.exists(staged.resolve(COMPACT_DONE))) {
+            deleteStaged();
+            return;
+        }
+        int first = Integer.MAX_VALUE;
+        for (Path file : segmentFiles(staged)) first = Math.min(first, segmentIndex(file));
+        for (Path file : segmentFiles(dir)) {
+            if (segmentIndex(file) >= first) Files.delete(file);
+        }
+        for (int i = first; Files.exists(staged.resolve(SEGMENT_NAME.formatted(i))); i++) {
+            Files.move(staged.resolve(SEGMENT_NAME.formatted(i)), segmentPath(i));
+        }
+        deleteStaged();
+    }
+
+    // pages only in v1 segments were already treated as missing and are refetched into v2 ones
+    private void deleteV1Segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                if (V1_SEGMENT_FILE.matcher(file.getFileName().toString()).matches()) Files.delete(file);
+            }
+        }
+    }
+
+    private void deleteStaged() throws IOException {
+        Path staged = dir.resolve(COMPACT_DIR);
+        if (!Files.exists(staged)) return;
+        try (Stream<Path> files = Files.list(staged)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        Files.delete(staged);
+    }
+
+    private static List<Path> segmentFiles(Path in) throws IOException {
+        try (Stream<Path> files = Files.list(in)) {
+            return files.filter(f -> segmentIndex(f) >= 0).toList();
+        }
+    }
+
+    private static int segmentIndex(Path file) {
+        Matcher m = SEGMENT_FILE.matcher(file.getFileName().toString());
+        return m.matches() ? Integer.parseInt(m.group(1)) : -1;
+    }
+
+    private int replay(int segment) {
+        MappedByteBuffer seg = segments.get(segment);
+        int offset = 0;
+        while (offset + Integer.BYTES <= seg.capacity()) {
+            int len = seg.getInt(offset);
+            if (len <= 0 || offset + Integer.BYTES + len > seg.capacity()) break;
+            long fetchedAt = seg.getLong(offset + Integer.BYTES);
+            int urlLen = seg.getInt(offset + Integer.BYTES + Long.BYTES);
+            String url = string(seg, offset + Integer.BYTES + Long.BYTES + Integer.BYTES, urlLen);
+            DocRef ref = new DocRef(docs.size(), url, segment, offset, Integer.BYTES + len, fetchedAt);
+            FetchedPage page = read(ref);
+            index(ref, page.html() ? grams(page.content()) : new int[0]);
+            offset += Integer.BYTES + len;
+        }
+        return offset;
+    }
+
+    private void newSegment() throws IOException {
+        segments.add(map(segmentPath(segments.size())));
+        writeOffset = 0;
+    }
+
+    private Path segmentPath(int i) {
+        return dir.resolve(SEGMENT_NAME.formatted(i));
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (var file = new RandomAccessFile(path.toFile(), "rw")) {
+            if (file.length() < props.getSegmentSizeBytes()) file.setLength(props.getSegmentSizeBytes());
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+        }
+    }
+
+    // size covers the length prefix and the record
+    private record DocRef(int docId, String url, int segment, int offset, int size, long fetchedAt) {}
+}
@@ -0,0 +1,19 @@
+package com.concurrent_web_crawler.crawler.infra.index;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "crawler.index")
+public class SiteIndexProperties {
+    private boolean enabled = true;
+    private String dir = System.getProperty("java.io.tmpdir") + "/crawler-index";
+    private Duration maxAge = Duration.ofHours(1);
+    private int segmentSizeBytes = 64 * 1024 * 1024;
+}
@@ -0,0 +1,114 @@
+package com.concurrent_web_crawler.crawler.infra.metrics;
+
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Crawler meters. Meters that carry tags are resolved through meter providers,
+ * so recording on the hot path is a lookup of an already registered meter and
+ * no builder is allocated per fetch. Each per-crawl engine crawl is one
+ * {@code crawler.crawl} observation, which yields the crawl duration timer and,
+ * with a tracing bridge on the classpath, a span.
+ */
+@Component
+public class CrawlMetrics {
+
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final ObservationRegistry observations;
+    private final Meter.MeterProvider<Timer> fetchTimer;
+    private final Meter.MeterProvider<Counter> fetchBytes;
+    private final Meter.MeterProvider<Counter> taskErrors;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer parseTimer;
+    private final Counter linksExtracted;
+    private final Counter dedupeHits;
+    private final Counter dedupeMisses;
+    private final DistributionSummary crawlResults;
+
+    public CrawlMetrics(MeterRegistry registry, ObservationRegistry observations) {
+        this.observations = observations;
+        this.fetchTimer = Timer.builder("crawler.fetch")
+                .description("HTTP fetch latency by host and status")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.fetchBytes = Counter.builder("crawler.fetch.bytes")
+                .description("Response bytes downloaded, as sent on the wire")
+                .baseUnit(BaseUnits.BYTES)
+                .withRegistry(registry);
+        this.taskErrors = Counter.builder("crawler.task.errors")
+                .description("Crawl tasks that failed with an unexpected exception")
+                .withRegistry(registry);
+        Gauge.builder("crawler.fetch.in_flight", inFlight, AtomicInteger::get)
+                .description("HTTP fetches currently in flight")
+                .register(registry);
+        this.parseTimer = Timer.builder("crawler.parse")
+                .description("Decoding a page and extracting its links")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.linksExtracted = Counter.builder("crawler.links.extracted").register(registry);
+        this.dedupeHits = Counter.builder("crawler.dedupe").tag("result", "hit")
+                .description("URLs dropped because they were already visited").register(registry);
+        this.dedupeMisses = Counter.builder("crawler.dedupe").tag("result", "miss").register(registry);
+        this.crawlResults = DistributionSummary.builder("crawler.crawl.results")
+                .description("Results found per crawl")
+                .register(registry);
+    }
+
+    /** Meters backed by an in-memory registry, for code built outside the Spring context. */
+    public static CrawlMetrics standalone() {
+        return new CrawlMetrics(new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+    }
+
+    public void fetchStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /** {@code status} is negative if no response arrived. */
+    public void fetchCompleted(URI uri, int status, long nanos, long bytes) {
+        inFlight.decrementAndGet();
+        String host = uri.getHost() == null ? "" : uri.getHost();
+        fetchTimer.withTags("host", host, "status", status < 0 ? IO_ERROR : Integer.toString(status))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (bytes > 0) fetchBytes.withTags("host", host).increment(bytes);
+    }
+
+    public void parsed(long nanos, int links) {
+        parseTimer.record(nanos, TimeUnit.NANOSECONDS);
+        linksExtracted.increment(links);
+    }
+
+    public void dedupe(boolean alreadyVisited) {
+        (alreadyVisited ? dedupeHits : dedupeMisses).increment();
+    }
+
+    public void taskFailed(Throwable error) {
+        taskErrors.withTags("exception", error.getClass().getSimpleName()).increment();
+    }
+
+    public Observation startCrawl(CrawlState state) {
+        return Observation.createNotStarted("crawler.crawl", observations)
+                .contextualName("crawl")
+                .highCardinalityKeyValue("crawl.id", state.getId())
+                .start();
+    }
+
+    public void crawlFinished(CrawlState state, Observation crawl) {
+        crawlResults.record(state.resultsCount());
+        crawl.lowCardinalityKeyValue("status", state.cancelled() ? "CANCELLED" : "DONE").stop();
+    }
+}
@@ -0,0 +1,49 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for one crawl. Pages, results and frontier slots are
+ * reserved before they are used, so concurrent workers can never overshoot a
+ * limit and checking one is a single volatile read. Frontier slots are given
+ * back when their URL leaves the frontier; a result slot is given back when the
+ * result turns out to be a duplicate.
+ */
+public final class CrawlBudget implements Serializable {
+
+    private final CrawlLimits limits;
+    private final AtomicInteger pages = new AtomicInteger();
+    private final AtomicInteger results = new AtomicInteger();
+    private final AtomicInteger frontier = new AtomicInteger();
+
+    public CrawlBudget(CrawlLimits limits) {
+        this.limits = limits;
+    }
+
+    public CrawlLimits limits() { return limits; }
+    public int pages() { return pages.get(); }
+    public int results() { return results.get(); }
+    public int frontier() { return frontier.get(); }
+
+    public boolean tryReservePage() { return reserve(pages, limits.maxPages()); }
+    public boolean tryReserveResult() { return reserve(results, limits.maxResults()); }
+    public boolean tryReserveFrontierSlot() { return reserve(frontier, limits.maxFrontier()); }
+
+    public void releaseResult() { results.decrementAndGet(); }
+    public void releaseFrontierSlot() { frontier.decrementAndGet(); }
+
+    /** True once every page or every result slot has been handed out. */
+    public boolean exhausted() {
+        return pages.get() >= limits.maxPages() || results.get() >= limits.maxResults();
+    }
+
+    private static boolean reserve(AtomicInteger counter, int limit) {
+        int n;
+        do {
+            n = counter.get();
+            if (n >= limit) return false;
+        } while (!counter.compareAndSet(n, n + 1));
+        return true;
+    }
+}
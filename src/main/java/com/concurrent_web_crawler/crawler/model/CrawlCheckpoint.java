@@ -0,0 +1,18 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import java.util.List;
+
+/**
+ * What is needed to resume an interrupted crawl: its URLs still queued (including
+ * those that were being fetched), fully processed and matched.
+ */
+public record CrawlCheckpoint(
+        String id,
+        String keyword,
+        CrawlLimits limits,
+        List<Queued> frontier,
+        List<String> processed,
+        List<String> results
+) {
+    public record Queued(String url, int depth, int priority) {}
+}
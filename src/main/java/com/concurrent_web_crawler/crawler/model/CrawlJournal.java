@@ -0,0 +1,22 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+
+/**
+ * Incremental record of what a crawl did, written so it can be resumed after a
+ * restart. Calls only queue the change and must not block the crawl.
+ */
+public interface CrawlJournal {
+
+    CrawlJournal NONE = new CrawlJournal() {};
+
+    default void enqueued(PriorityFrontier.Entry entry, int priority) {}
+
+    /** The page was fetched and its links journaled; URLs never marked so are fetched again on resume. */
+    default void processed(String url) {}
+
+    default void result(String url) {}
+
+    /** The crawl finished: its record is no longer needed. */
+    default void close() {}
+}
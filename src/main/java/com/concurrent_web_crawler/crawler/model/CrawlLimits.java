@@ -0,0 +1,18 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import java.io.Serializable;
+
+/** Upper bounds of one crawl: pages fetched, results reported and URLs waiting in the frontier. */
+public record CrawlLimits(int maxPages, int maxResults, int maxFrontier) implements Serializable {
+
+    public CrawlLimits {
+        if (maxPages < 1 || maxResults < 1 || maxFrontier < 1) {
+            throw new IllegalArgumentException("Crawl limits must be >= 1");
+        }
+    }
+
+    /** Whether a crawl under these limits answers a request for {@code requested}: same result cap, no smaller page budget. */
+    public boolean covers(CrawlLimits requested) {
+        return maxResults == requested.maxResults() && maxPages >= requested.maxPages();
+    }
+}
@@ -0,0 +1,87 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live progress counters of one crawl. Workers only bump striped LongAdders,
+ * so recording never contends and reading sums a handful of cells instead of
+ * copying the crawl's visited set or frontier.
+ */
+public final class CrawlProgress implements Serializable {
+
+    public enum ErrorCategory {
+        CLIENT_ERROR, SERVER_ERROR, NETWORK, NOT_HTML;
+
+        /** Why a response without an HTML body was not crawled. */
+        public static ErrorCategory of(int status) {
+            if (status >= 500) return SERVER_ERROR;
+            if (status >= 400) return CLIENT_ERROR;
+            return NOT_HTML;
+        }
+    }
+
+    private final long startedAt = System.currentTimeMillis();
+    private volatile long finishedAt;
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder[] errors = new LongAdder[ErrorCategory.values().length];
+
+    public CrawlProgress() {
+        for (int i = 0; i < errors.length; i++) errors[i] = new LongAdder();
+    }
+
+    public void fetchStarted() {
+        inFlight.increment();
+    }
+
+    public void fetchFinished() {
+        inFlight.decrement();
+    }
+
+    /** A page was fetched (or served from cache) and processed. */
+    public void fetched(long size) {
+        pages.increment();
+        bytes.add(size);
+    }
+
+    /**
+     * Records a page a worker got back from the page cache: counted as fetched
+     * if it is HTML, otherwise as an error. {@code null} means the fetch failed.
+     */
+    public void record(FetchedPage page) {
+        if (page == null) failed(ErrorCategory.NETWORK);
+        else if (!page.html()) failed(ErrorCategory.of(page.status()));
+        else fetched(page.content().length());
+    }
+
+    public void failed(ErrorCategory category) {
+        errors[category.ordinal()].increment();
+    }
+
+    public void finished() {
+        if (finishedAt == 0) finishedAt = System.currentTimeMillis();
+    }
+
+    public long pages() {
+        return pages.sum();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+
+    public int inFlight() {
+        return (int) Math.max(0, inFlight.sum());
+    }
+
+    public long errors(ErrorCategory category) {
+        return errors[category.ordinal()].sum();
+    }
+
+    public long elapsedMillis() {
+        long end = finishedAt == 0 ? System.currentTimeMillis() : finishedAt;
+        return Math.max(0, end - startedAt);
+    }
+}
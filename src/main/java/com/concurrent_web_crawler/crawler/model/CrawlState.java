@@ -1,13 +1,17 @@
 package com.concurrent_web_crawler.crawler.model;
 
+import com.concurrent_web_crawler.crawler.util.KeywordMatcher;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import com.concurrent_web_crawler.crawler.util.VisitedSet;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Getter
@@ -15,29 +19,123 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public final class CrawlState implements Serializable {
     private final String id;
     private final String keyword;
+    private final KeywordMatcher matcher;
 
     private final Set<String> results = ConcurrentHashMap.newKeySet();
-    private final Set<String> visited = ConcurrentHashMap.newKeySet();
-    private final ConcurrentLinkedQueue<String> frontier = new ConcurrentLinkedQueue<>();
+    private final ResultLog resultLog = new ResultLog();
+    private final VisitedSet visited;
+    private final PriorityFrontier frontier = new PriorityFrontier();
+    private final CrawlBudget budget;
+    private final CrawlProgress progress = new CrawlProgress();
 
     private final AtomicBoolean done = new AtomicBoolean(false);
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    // tokens of the requests sharing this crawl; a crawl resumed after a restart has none
+    private final Set<String> requests = new HashSet<>(); // guarded by this
+    private boolean abandoned; // guarded by this
+    private volatile Runnable abortAction;
+    private transient volatile CrawlJournal journal = CrawlJournal.NONE;
+    private final transient List<Runnable> listeners = new CopyOnWriteArrayList<>();
     private final DoneCallback doneCallback;
 
-    public CrawlState(String id, String keyword, DoneCallback doneCallback) {
+    public CrawlState(String id, String keyword, VisitedSet visited, CrawlLimits limits, DoneCallback doneCallback) {
         this.id = id;
         this.keyword = keyword;
+        this.matcher = KeywordMatcher.compile(keyword);
+        this.visited = visited;
+        this.budget = new CrawlBudget(limits);
         this.doneCallback = doneCallback;
     }
 
     public boolean done() { return done.get(); }
-    public int resultsCount() { return results.size(); }
-    public List<String> results() { return results.stream().sorted().toList(); }
+    public boolean cancelled() { return cancelled.get(); }
+    public int resultsCount() { return budget.results(); }
+    /** Results in the order they were found; an immutable snapshot, not a copy. */
+    public List<String> results() { return resultLog.all(); }
 
-    public void addResult(String url) { results.add(url); }
+    /**
+     * Records a match unless the result budget is spent; false if it was dropped or
+     * already known. Taking the last result slot finishes the crawl.
+     */
+    public boolean addResult(String url) {
+        if (done() || !budget.tryReserveResult()) return false;
+        if (!results.add(url)) {
+            budget.releaseResult();
+            return false;
+        }
+        resultLog.append(url);
+        journal.result(url);
+        notifyListeners();
+        if (budget.results() >= budget.limits().maxResults()) finish();
+        return true;
+    }
+
+    /**
+     * Registers a callback run after every new result and once the crawl is done. It is
+     * called on crawl worker threads, so it must only signal and never block.
+     */
+    public void subscribe(Runnable listener) {
+        listeners.add(listener);
+        if (done()) listener.run();
+    }
+
+    public void unsubscribe(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) listener.run();
+    }
+
+    /** Registers how the engine aborts this crawl's in-flight work; must be idempotent. */
+    public void onAbort(Runnable action) {
+        abortAction = action;
+        if (done()) action.run();
+    }
+
+    /** Adds the request with this token, if any, to the crawl; false once every request has left. */
+    public synchronized boolean join(String request) {
+        if (abandoned) return false;
+        if (request != null) requests.add(request);
+        return true;
+    }
+
+    /**
+     * Withdraws the request with this token; true if it was the last one, so the crawl can
+     * be cancelled. Withdrawing a token again changes nothing. Without a token the caller
+     * cannot be told apart, so it only withdraws from a crawl no other request shares.
+     */
+    public synchronized boolean leave(String request) {
+        if (abandoned) return false;
+        boolean last = request == null ? requests.size() <= 1 : requests.remove(request) && requests.isEmpty();
+        if (!last) return false;
+        requests.clear();
+        abandoned = true;
+        return true;
+    }
+
+    /** Stops the crawl now and keeps the results found so far; false if it had already finished. */
+    public boolean cancel() {
+        if (done() || !cancelled.compareAndSet(false, true)) return false;
+        finish();
+        return true;
+    }
+
+    /** Marks the crawl done, stops waiting on its in-flight fetches and drops the frontier. */
+    public void finish() {
+        markDone();
+        Runnable action = abortAction;
+        if (action != null) action.run();
+        frontier.clear();
+    }
 
     public void markDone() {
-        if (done.compareAndSet(false, true) && doneCallback != null) {
-            doneCallback.onDone(id, this);
+        if (!done.compareAndSet(false, true)) return;
+        progress.finished();
+        try {
+            if (doneCallback != null) doneCallback.onDone(id, this);
+        } finally {
+            notifyListeners();
         }
     }
 
@@ -0,0 +1,13 @@
+package com.concurrent_web_crawler.crawler.model;
+
+/** Outcome of a conditional fetch; {@code page} is null when the server answered 304 Not Modified. */
+public record FetchResult(FetchedPage page, PageValidators validators) {
+
+    public static FetchResult notModified(PageValidators validators) {
+        return new FetchResult(null, validators);
+    }
+
+    public boolean notModified() {
+        return page == null;
+    }
+}
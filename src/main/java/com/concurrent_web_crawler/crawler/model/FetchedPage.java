@@ -0,0 +1,49 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import java.util.List;
+
+/**
+ * What a crawl needs from a fetched URL: the document content used for keyword
+ * matching and the in-site links already normalized against the base URL, with
+ * the anchor text of each link at the same index in {@code anchors} (empty when
+ * unknown). Non-HTML and failed responses are kept as empty pages so they are
+ * not refetched; {@code status} is the HTTP status they were answered with.
+ */
+public record FetchedPage(String url, String content, List<String> links, List<String> anchors, int status) {
+
+    public FetchedPage(String url, String content, List<String> links, List<String> anchors) {
+        this(url, content, links, anchors, 200);
+    }
+
+    public FetchedPage(String url, String content, List<String> links) {
+        this(url, content, links, List.of());
+    }
+
+    public static FetchedPage empty(String url) {
+        return empty(url, 200);
+    }
+
+    public static FetchedPage empty(String url, int status) {
+        return new FetchedPage(url, null, List.of(), List.of(), status);
+    }
+
+    public boolean html() {
+        return content != null;
+    }
+
+    /** Whether the server answered with a 2xx status. */
+    public boolean ok() {
+        return status >= 200 && status < 300;
+    }
+
+    public String anchor(int i) {
+        return i < anchors.size() ? anchors.get(i) : "";
+    }
+
+    public int weight() {
+        int w = url.length() + (content == null ? 0 : content.length());
+        for (String link : links) w += link.length();
+        for (String anchor : anchors) w += anchor.length();
+        return w;
+    }
+}
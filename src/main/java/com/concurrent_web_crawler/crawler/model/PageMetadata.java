@@ -0,0 +1,46 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "page_metadata")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageMetadata {
+
+    @Id
+    @Column(name = "url", nullable = false, length = 2048)
+    private String url;
+
+    @Column(name = "etag", length = 512)
+    private String etag;
+
+    @Column(name = "last_modified", length = 64)
+    private String lastModified;
+
+    @Column(name = "content_hash", nullable = false)
+    private long contentHash;
+
+    @Column(name = "fetched_at", nullable = false, columnDefinition = "timestamp with time zone")
+    private OffsetDateTime fetchedAt;
+
+    @Column(name = "validated_at", nullable = false, columnDefinition = "timestamp with time zone")
+    private OffsetDateTime validatedAt;
+
+    public PageValidators validators() {
+        return new PageValidators(etag, lastModified);
+    }
+}
@@ -0,0 +1,11 @@
+package com.concurrent_web_crawler.crawler.model;
+
+/** HTTP cache validators of a fetched page; either may be null when the server sent none. */
+public record PageValidators(String etag, String lastModified) {
+
+    public static final PageValidators NONE = new PageValidators(null, null);
+
+    public boolean isEmpty() {
+        return etag == null && lastModified == null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result URLs in the order they were found, kept as a copy-on-write array: an
+ * append publishes a new array and a published array is never written again,
+ * so readers get an immutable view without locking or copying. The version is
+ * the number of URLs and doubles as a cursor for incremental reads.
+ */
+public final class ResultLog implements Serializable {
+
+    private volatile String[] urls = new String[0];
+
+    public synchronized void append(String url) {
+        String[] current = urls;
+        String[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = url;
+        urls = next;
+    }
+
+    public int version() {
+        return urls.length;
+    }
+
+    public List<String> all() {
+        return since(0);
+    }
+
+    /** URLs found after the first {@code cursor} ones; empty if the cursor is at or past the end. */
+    public List<String> since(int cursor) {
+        String[] snapshot = urls;
+        if (cursor <= 0) return Collections.unmodifiableList(Arrays.asList(snapshot));
+        if (cursor >= snapshot.length) return List.of();
+        return Collections.unmodifiableList(Arrays.asList(snapshot).subList(cursor, snapshot.length));
+    }
+}
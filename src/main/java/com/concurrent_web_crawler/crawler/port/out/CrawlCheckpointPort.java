@@ -0,0 +1,22 @@
+package com.concurrent_web_crawler.crawler.port.out;
+
+import com.concurrent_web_crawler.crawler.dto.CheckpointStats;
+import com.concurrent_web_crawler.crawler.model.CrawlCheckpoint;
+import com.concurrent_web_crawler.crawler.model.CrawlJournal;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+
+import java.util.List;
+
+public interface CrawlCheckpointPort {
+
+    /** Starts the journal of a new crawl. */
+    CrawlJournal open(CrawlState state);
+
+    /** Continues the journal of a resumed crawl. */
+    CrawlJournal reopen(CrawlCheckpoint checkpoint);
+
+    /** Checkpoints of every crawl that did not finish before the last shutdown. */
+    List<CrawlCheckpoint> recover();
+
+    CheckpointStats stats();
+}
@@ -1,7 +1,13 @@
 package com.concurrent_web_crawler.crawler.port.out;
 
+import com.concurrent_web_crawler.crawler.model.CrawlCheckpoint;
 import com.concurrent_web_crawler.crawler.model.CrawlState;
 
 public interface CrawlStarterPort {
     void start(CrawlState state);
+
+    /** Continues a crawl from its last checkpoint; false if this engine cannot resume crawls. */
+    default boolean resume(CrawlState state, CrawlCheckpoint checkpoint) {
+        return false;
+    }
 }
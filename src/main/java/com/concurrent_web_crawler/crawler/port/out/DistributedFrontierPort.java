@@ -0,0 +1,54 @@
+package com.concurrent_web_crawler.crawler.port.out;
+
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Crawl frontier, visited set and results kept outside the JVM so any number of
+ * nodes can work on the same crawl. Every operation is atomic on its own: links
+ * are deduplicated and enqueued in one step, polled entries are leased (and
+ * handed out again if their node dies) and the crawl limits are enforced by the
+ * store rather than by the nodes.
+ */
+public interface DistributedFrontierPort {
+
+    record Job(String crawlId, String keyword, CrawlLimits limits) {}
+
+    /** Registers the crawl and enqueues its seed URL. */
+    void create(Job job, String seedUrl);
+
+    /** Ids of the crawls that still have work. */
+    List<String> activeCrawls();
+
+    Optional<Job> job(String crawlId);
+
+    /**
+     * Leases up to {@code max} entries, most promising first, within the page
+     * budget. Expired leases are handed out again. Marks the crawl done once
+     * nothing is queued or leased.
+     */
+    List<PriorityFrontier.Entry> poll(Job job, int max, Duration lease);
+
+    /** Enqueues the entries that were never seen before, while the frontier has room; returns how many. */
+    int offer(Job job, List<PriorityFrontier.Entry> entries, List<Integer> priorities);
+
+    /** Releases the lease of a processed entry. */
+    void complete(String crawlId, PriorityFrontier.Entry entry);
+
+    /** Records a match while the result budget lasts; taking the last slot marks the crawl done. */
+    boolean addResult(Job job, String url);
+
+    List<String> results(String crawlId);
+
+    boolean isDone(String crawlId);
+
+    /** Marks the crawl done and drops its frontier; results stay readable. */
+    void cancel(String crawlId);
+
+    /** Lets every key of a finished crawl expire after {@code retention}. */
+    void expire(String crawlId, Duration retention);
+}
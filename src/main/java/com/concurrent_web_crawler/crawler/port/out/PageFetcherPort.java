@@ -0,0 +1,22 @@
+package com.concurrent_web_crawler.crawler.port.out;
+
+import com.concurrent_web_crawler.crawler.model.FetchResult;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.model.PageValidators;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PageFetcherPort {
+
+    /**
+     * Fetches a page without blocking the caller, sending {@code known} as
+     * If-None-Match / If-Modified-Since. Completes with an empty page for non-HTML
+     * or non-2xx responses and exceptionally when the request failed or was
+     * interrupted, so the outcome must not be remembered.
+     */
+    CompletableFuture<FetchResult> fetch(String url, PageValidators known);
+
+    default CompletableFuture<FetchedPage> fetch(String url) {
+        return fetch(url, PageValidators.NONE).thenApply(FetchResult::page);
+    }
+}
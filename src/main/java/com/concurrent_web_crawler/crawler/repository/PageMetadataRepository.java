@@ -0,0 +1,7 @@
+package com.concurrent_web_crawler.crawler.repository;
+
+import com.concurrent_web_crawler.crawler.model.PageMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PageMetadataRepository extends JpaRepository<PageMetadata, String> {
+}
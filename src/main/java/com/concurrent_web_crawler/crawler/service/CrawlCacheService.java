@@ -9,6 +9,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class CrawlCacheService {
@@ -21,6 +23,11 @@ public class CrawlCacheService {
         return repository.findByKeywordNormalized(norm).orElse(null);
     }
 
+    @Transactional(readOnly = true)
+    public List<CrawlRequest> findActive() {
+        return repository.findByStatus(CrawlStatus.ACTIVE);
+    }
+
     @Transactional
     public CrawlRequest upsertPending(String keyword) {
         String norm = KeywordUtils.normalize(keyword);
@@ -41,6 +48,11 @@ public class CrawlCacheService {
         });
     }
 
+    @Transactional
+    public void markCancelled(Long id) {
+        repository.findById(id).ifPresent(entity -> entity.setStatus(CrawlStatus.CANCELLED));
+    }
+
     @Transactional
     public void saveResult(Long id, JsonNode resultJson, boolean success) {
         repository.findById(id).ifPresent(entity -> {
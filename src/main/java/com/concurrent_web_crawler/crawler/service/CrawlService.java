@@ -1,74 +1,218 @@
 package com.concurrent_web_crawler.crawler.service;
 
+import com.concurrent_web_crawler.crawler.dto.CheckpointStats;
+import com.concurrent_web_crawler.crawler.dto.CrawlSnapshot;
 import com.concurrent_web_crawler.crawler.dto.CrawlStateDto;
+import com.concurrent_web_crawler.crawler.dto.CrawlStats;
+import com.concurrent_web_crawler.crawler.dto.PageCacheStats;
+import com.concurrent_web_crawler.crawler.dto.StartResponse;
+import com.concurrent_web_crawler.crawler.enumerator.CrawlStatus;
+import com.concurrent_web_crawler.crawler.infra.cache.CrawlStateRegistry;
+import com.concurrent_web_crawler.crawler.infra.cache.PageCache;
+import com.concurrent_web_crawler.crawler.infra.checkpoint.CheckpointProperties;
+import com.concurrent_web_crawler.crawler.infra.executor.CrawlLimitsProperties;
+import com.concurrent_web_crawler.crawler.infra.executor.VisitedSetProperties;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.model.CrawlCheckpoint;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlRequest;
 import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.port.out.CrawlCheckpointPort;
 import com.concurrent_web_crawler.crawler.port.out.CrawlStarterPort;
 import com.concurrent_web_crawler.crawler.util.IdUtils;
 import com.concurrent_web_crawler.crawler.util.KeywordUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CrawlService {
 
+    private static final Logger log = LoggerFactory.getLogger(CrawlService.class);
+
     private final CrawlStarterPort crawlStarter;
     private final CacheManager cacheManager;
     private final CrawlCacheService crawlCacheService;
     private final ObjectMapper objectMapper;
+    private final PageCache pageCache;
+    private final SiteIndex siteIndex;
+    private final VisitedSetProperties visitedSetProperties;
+    private final CrawlLimitsProperties crawlLimitsProperties;
+    private final CrawlCheckpointPort checkpoints;
+    private final CheckpointProperties checkpointProperties;
+    private final CrawlStateRegistry states;
 
-    private final Map<String, CrawlState> states = new ConcurrentHashMap<>();
+    /**
+     * Starts a crawl, or answers with the id of one that already does the job: a crawl
+     * for the same normalized keyword that is still running or finished within the
+     * freshness window. A fresh result stored by another instance is served without crawling.
+     * The returned token identifies this request when it is cancelled.
+     */
+    public StartResponse start(String keyword, CrawlLimits limits) {
+        String request = IdUtils.generateId();
+        return new StartResponse(start(keyword, limits, request), request);
+    }
 
-    public String start(String keyword) {
+    // a null request starts the crawl on behalf of nobody, as after a restart
+    private String start(String keyword, CrawlLimits limits, String request) {
         KeywordUtils.validateKeyword(keyword);
+        var normalized = KeywordUtils.normalize(keyword);
+
+        var shared = states.join(normalized, limits, request).map(CrawlState::getId)
+                .or(() -> states.fresh(normalized, limits).map(CrawlStateDto::id));
+        if (shared.isPresent()) {
+            log.debug("Crawl for '{}' answered by {}", normalized, shared.get());
+            return shared.get();
+        }
 
         var crawlReq = crawlCacheService.upsertPending(keyword);
+        List<String> stored = storedResult(crawlReq);
 
         String id = IdUtils.generateId();
-        var normalized = KeywordUtils.normalize(keyword);
-        var state = new CrawlState(id, normalized, this::onStateDone);
-        states.put(id, state);
+        // a stored result is already in the database; writing it again would keep it fresh forever
+        CrawlState.DoneCallback onDone = stored == null ? this::onStateDone : (_, s) -> states.complete(s);
+        var state = states.joinOrRegister(normalized, limits, request,
+                () -> new CrawlState(id, normalized, visitedSetProperties.newVisitedSet(), limits, onDone));
+        if (!state.getId().equals(id)) {
+            log.debug("Crawl for '{}' joined running crawl {}", normalized, state.getId());
+            return state.getId();
+        }
+        if (stored != null) {
+            stored.forEach(state::addResult);
+            state.markDone();
+            return id;
+        }
 
         crawlCacheService.markRunning(crawlReq.getId());
+        var indexed = siteIndex.answer(normalized, limits.maxResults());
+        if (indexed.isPresent()) {
+            indexed.get().forEach(state::addResult);
+            state.markDone();
+            return id;
+        }
         crawlStarter.start(state);
 
         return id;
     }
 
+    private List<String> storedResult(CrawlRequest req) {
+        if (req.getStatus() != CrawlStatus.DONE || req.getUpdatedAt() == null || !states.isFresh(req.getUpdatedAt().toInstant())) {
+            return null;
+        }
+        JsonNode json = req.getResultJson();
+        if (json == null || !json.isArray()) return null;
+        List<String> urls = new ArrayList<>(json.size());
+        json.forEach(url -> urls.add(url.asText()));
+        return urls;
+    }
+
+    /**
+     * Picks up crawls interrupted by the last shutdown: checkpointed ones continue under
+     * their old id, other crawls still marked ACTIVE start over.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!checkpointProperties.isResume()) return;
+        Set<String> resumed = new HashSet<>();
+        for (CrawlCheckpoint cp : checkpoints.recover()) {
+            markResumed(cp.keyword());
+            var state = new CrawlState(cp.id(), cp.keyword(), visitedSetProperties.newVisitedSet(), cp.limits(), this::onStateDone);
+            states.register(state);
+            if (!crawlStarter.resume(state, cp)) {
+                checkpoints.reopen(cp).close();
+                crawlStarter.start(state);
+            }
+            resumed.add(cp.keyword());
+            log.info("Resumed crawl {} for '{}' with {} queued URLs", cp.id(), cp.keyword(), cp.frontier().size());
+        }
+        try {
+            for (CrawlRequest req : crawlCacheService.findActive()) {
+                if (resumed.add(req.getKeywordNormalized())) start(req.getKeywordNormalized(), crawlLimitsProperties.defaults(), null);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not restart ACTIVE crawls", e);
+        }
+    }
+
+    // onStateDone stores the result on the keyword's row, which the database may no longer have
+    private void markResumed(String keyword) {
+        try {
+            crawlCacheService.markRunning(crawlCacheService.upsertPending(keyword).getId());
+        } catch (DataAccessException e) {
+            log.warn("Could not mark resumed crawl for '{}' ACTIVE", keyword, e);
+        }
+    }
+
     public CrawlStateDto getState(String id) {
-        var s = states.get(id);
-        if (s == null) throw new NoSuchElementException("ID not found");
-        return CrawlStateDto.from(s);
+        return states.get(id).orElseThrow(() -> new NoSuchElementException("ID not found"));
+    }
+
+    public CrawlSnapshot snapshot(String id) {
+        return states.snapshot(id).orElseThrow(() -> new NoSuchElementException("ID not found"));
+    }
+
+    public CrawlStats stats(String id) {
+        return states.stats(id).orElseThrow(() -> new NoSuchElementException("ID not found"));
+    }
+
+    /**
+     * Withdraws the request with this token from a running crawl and cancels the crawl
+     * once no request is left, so a crawl shared by several callers keeps running for the
+     * others and a retried cancel is harmless. Without a token only an unshared crawl is
+     * cancelled. A crawl that already finished is returned unchanged.
+     */
+    public CrawlSnapshot cancel(String id, String request) {
+        states.active(id).filter(state -> state.leave(request)).ifPresent(CrawlState::cancel);
+        return snapshot(id);
+    }
+
+    public PageCacheStats pageCacheStats() {
+        return pageCache.stats();
+    }
+
+    public CheckpointStats checkpointStats() {
+        return checkpoints.stats();
     }
 
     private void onStateDone(String id, CrawlState finalState) {
         try {
-            JsonNode resultJson = objectMapper.valueToTree(finalState.results());
-            boolean success = !finalState.results().isEmpty();
+            try {
+                JsonNode resultJson = objectMapper.valueToTree(finalState.results());
+                boolean success = !finalState.results().isEmpty();
 
-            var req = crawlCacheService.getByKeyword(finalState.getKeyword());
-            if (req != null) {
-                crawlCacheService.saveResult(req.getId(), resultJson, success);
+                var req = crawlCacheService.getByKeyword(finalState.getKeyword());
+                if (req != null && finalState.cancelled()) {
+                    crawlCacheService.markCancelled(req.getId());
+                } else if (req != null) {
+                    crawlCacheService.saveResult(req.getId(), resultJson, success);
+                }
+            } catch (Exception ignored) {
+                var req = crawlCacheService.getByKeyword(finalState.getKeyword());
+                if (req != null) {
+                    crawlCacheService.saveResult(req.getId(), null, false);
+                }
             }
-        } catch (Exception ignored) {
-            var req = crawlCacheService.getByKeyword(finalState.getKeyword());
-            if (req != null) {
-                crawlCacheService.saveResult(req.getId(), null, false);
-            }
-        }
 
-        Cache inProgress = cacheManager.getCache("crawlState");
-        if (inProgress != null) inProgress.evict(id);
-
-        Cache finalCache = cacheManager.getCache("crawlStateFinal");
-        if (finalCache != null) finalCache.put(id, CrawlStateDto.from(finalState));
+            Cache inProgress = cacheManager.getCache("crawlState");
+            if (inProgress != null) inProgress.evict(id);
+        } finally {
+            // a finished crawl must leave the running set even when the database is down
+            states.complete(finalState);
+        }
     }
 }
@@ -0,0 +1,105 @@
+package com.concurrent_web_crawler.crawler.service;
+
+import com.concurrent_web_crawler.crawler.dto.CrawlSnapshot;
+import com.concurrent_web_crawler.crawler.infra.cache.CrawlStateRegistry;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes a crawl's results to SSE clients as they are found. Crawl workers only
+ * release a per-subscriber permit; each subscriber has its own virtual thread
+ * that wakes up, reads everything new from the crawl's result log and writes
+ * it out, so a slow client never holds up the crawl and bursts are coalesced.
+ */
+@Service
+@RequiredArgsConstructor
+public class CrawlStreamService {
+
+    private final CrawlStateRegistry states;
+    private final ExecutorService virtualThreadExecutor;
+
+    @Value("${crawler.stream.timeout:30m}")
+    private Duration timeout;
+
+    /** Streams results found after the first {@code since} ones, then a final {@code done} event. */
+    public SseEmitter subscribe(String id, int since) {
+        var emitter = new SseEmitter(timeout.toMillis());
+        var running = states.active(id);
+        if (running.isPresent()) {
+            virtualThreadExecutor.submit(() -> stream(running.get(), since, emitter));
+        } else {
+            var snapshot = states.snapshot(id).orElseThrow(() -> new NoSuchElementException("ID not found"));
+            virtualThreadExecutor.submit(() -> replay(snapshot, since, emitter));
+        }
+        return emitter;
+    }
+
+    private void stream(CrawlState state, int since, SseEmitter emitter) {
+        var wakeUp = new Semaphore(0);
+        var closed = new AtomicBoolean();
+        Runnable listener = () -> {
+            if (wakeUp.availablePermits() == 0) wakeUp.release();
+        };
+        Runnable stop = () -> {
+            closed.set(true);
+            state.unsubscribe(listener);
+            wakeUp.release();
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(_ -> stop.run());
+        state.subscribe(listener);
+        int cursor = Math.max(since, 0);
+        try {
+            while (!closed.get()) {
+                boolean done = state.done(); // read before the log so the last drain sees every result
+                var fresh = state.getResultLog().since(cursor);
+                for (String url : fresh) sendResult(emitter, url, ++cursor);
+                if (done) {
+                    sendDone(emitter, CrawlSnapshot.of(state));
+                    return;
+                }
+                wakeUp.acquire();
+                wakeUp.drainPermits();
+            }
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e); // client went away
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } finally {
+            state.unsubscribe(listener);
+        }
+    }
+
+    private void replay(CrawlSnapshot snapshot, int since, SseEmitter emitter) {
+        try {
+            int cursor = Math.max(since, 0);
+            for (String url : snapshot.since(cursor).urls()) sendResult(emitter, url, ++cursor);
+            sendDone(emitter, snapshot);
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    // the event id is the result version, so a reconnecting client can pass it back as since
+    private static void sendResult(SseEmitter emitter, String url, int version) throws IOException {
+        emitter.send(SseEmitter.event().name("result").id(Integer.toString(version)).data(url));
+    }
+
+    private static void sendDone(SseEmitter emitter, CrawlSnapshot snapshot) throws IOException {
+        emitter.send(SseEmitter.event().name("done").id(Integer.toString(snapshot.version()))
+                .data(snapshot.since(snapshot.version())));
+        emitter.complete();
+    }
+}
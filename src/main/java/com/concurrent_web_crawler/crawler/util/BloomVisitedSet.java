@@ -0,0 +1,134 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Scalable Bloom filter (Almeida et al.): when the current slice reaches its
+ * capacity a new one twice as large with half the error rate is added, so the
+ * overall false-positive rate stays under the configured bound however many URLs
+ * are added. A false positive means a page is never crawled, so this is meant
+ * for crawls too large to keep fingerprints for.
+ */
+public final class BloomVisitedSet implements VisitedSet {
+
+    private static final double TIGHTENING = 0.5;
+    private static final int GROWTH = 2;
+
+    private final StampedLock lock = new StampedLock();
+    private volatile Slice[] slices;
+    private volatile int size;
+
+    public BloomVisitedSet(int initialCapacity, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        // the slice error rates form a geometric series bounded by p0 / (1 - r)
+        slices = new Slice[]{new Slice(Math.max(64, initialCapacity), falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    @Override
+    public boolean add(String url) {
+        long fp = FingerprintVisitedSet.fingerprint(url);
+        long stamp = lock.writeLock();
+        try {
+            if (mightContain(slices, fp)) return false;
+            Slice last = slices[slices.length - 1];
+            if (last.count >= last.capacity) {
+                last = new Slice(last.capacity * GROWTH, last.falsePositiveRate * TIGHTENING);
+                Slice[] grown = Arrays.copyOf(slices, slices.length + 1);
+                grown[grown.length - 1] = last;
+                slices = grown;
+            }
+            last.set(fp);
+            size++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(String url) {
+        long fp = FingerprintVisitedSet.fingerprint(url);
+        long stamp = lock.tryOptimisticRead();
+        boolean found = mightContain(slices, fp);
+        if (lock.validate(stamp)) return found;
+        stamp = lock.readLock();
+        try {
+            return mightContain(slices, fp);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Slice s : slices) bytes += (long) s.bits.length * Long.BYTES;
+        return bytes;
+    }
+
+    @Override
+    public double falsePositiveRate() {
+        double pass = 1;
+        for (Slice s : slices) pass *= 1 - s.currentFalsePositiveRate();
+        return 1 - pass;
+    }
+
+    private static boolean mightContain(Slice[] slices, long fp) {
+        for (Slice s : slices) {
+            if (s.get(fp)) return true;
+        }
+        return false;
+    }
+
+    private static final class Slice implements Serializable {
+        final long[] bits;
+        final long bitCount;
+        final int hashes;
+        final int capacity;
+        final double falsePositiveRate;
+        int count;
+
+        Slice(int capacity, double falsePositiveRate) {
+            long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new long[(int) ((m + 63) >>> 6)];
+            this.bitCount = (long) bits.length << 6;
+            this.hashes = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        // double hashing over the two halves of the fingerprint (Kirsch & Mitzenmacher)
+        boolean get(long fp) {
+            long h1 = (int) fp;
+            long h2 = (int) (fp >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        void set(long fp) {
+            long h1 = (int) fp;
+            long h2 = (int) (fp >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            count++;
+        }
+
+        double currentFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashes * count / bitCount), hashes);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing set of 64-bit URL fingerprints in a primitive {@code long[]}:
+ * no boxing and no URL strings retained. Two distinct URLs collide with
+ * probability about n²/2⁶⁵, i.e. practically never at crawl sizes. Lookups are
+ * optimistic reads; inserts and resizes take the write lock.
+ */
+public final class FingerprintVisitedSet implements VisitedSet {
+
+    private final StampedLock lock = new StampedLock();
+    private volatile long[] table;
+    private volatile int size;
+
+    public FingerprintVisitedSet() {
+        this(1024);
+    }
+
+    public FingerprintVisitedSet(int expectedInsertions) {
+        table = new long[tableSizeFor(Math.max(16, expectedInsertions) * 2)];
+    }
+
+    @Override
+    public boolean add(String url) {
+        long fp = fingerprint(url);
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 2 > table.length) table = rehash(table, table.length * 2);
+            if (!insert(table, fp)) return false;
+            size++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(String url) {
+        long fp = fingerprint(url);
+        long stamp = lock.tryOptimisticRead();
+        // a resize publishes a fully built table, so probing a stale one still terminates
+        boolean found = find(table, fp);
+        if (lock.validate(stamp)) return found;
+        stamp = lock.readLock();
+        try {
+            return find(table, fp);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    @Override
+    public double falsePositiveRate() {
+        return size / 0x1p64;
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 chars, finished with the murmur3 mixer; never 0. */
+    public static long fingerprint(CharSequence s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    private static boolean find(long[] t, long fp) {
+        int mask = t.length - 1;
+        for (int i = (int) fp & mask; ; i = (i + 1) & mask) {
+            long v = t[i];
+            if (v == fp) return true;
+            if (v == 0) return false;
+        }
+    }
+
+    private static boolean insert(long[] t, long fp) {
+        int mask = t.length - 1;
+        for (int i = (int) fp & mask; ; i = (i + 1) & mask) {
+            long v = t[i];
+            if (v == fp) return false;
+            if (v == 0) {
+                t[i] = fp;
+                return true;
+            }
+        }
+    }
+
+    private static long[] rehash(long[] old, int capacity) {
+        long[] t = new long[capacity];
+        for (long fp : old) {
+            if (fp != 0) insert(t, fp);
+        }
+        return t;
+    }
+
+    private static int tableSizeFor(int n) {
+        return Integer.highestOneBit(Math.max(2, n) - 1) << 1;
+    }
+}
@@ -0,0 +1,316 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.nio.CharBuffer;
+import java.util.function.BiConsumer;
+
+/**
+ * Incremental, regex-free scanner for the href of {@code <a>}, {@code <area>} and
+ * {@code <base>} tags. Quoted and unquoted values are supported and input can be
+ * fed in arbitrary chunks (a tag may span several). An {@code <a>} link is handed
+ * to the sink with its anchor text once the anchor is closed (or the next link
+ * starts, or {@link #finish()} is called); {@code <area>} links are handed over
+ * as soon as their href is complete. Not thread-safe: use one instance per
+ * thread and {@link #reset()} it between pages to reuse its buffers.
+ */
+public final class HtmlLinkTokenizer {
+
+    @FunctionalInterface
+    public interface LinkSink {
+        void onLink(String href);
+
+        /** Called for every link; {@code anchorText} is whitespace-collapsed and possibly empty. */
+        default void onLink(String href, String anchorText) {
+            onLink(href);
+        }
+
+        default void onBase(String href) {}
+
+        static LinkSink withAnchors(BiConsumer<String, String> links) {
+            return new LinkSink() {
+                @Override
+                public void onLink(String href) {
+                    links.accept(href, "");
+                }
+
+                @Override
+                public void onLink(String href, String anchorText) {
+                    links.accept(href, anchorText);
+                }
+            };
+        }
+    }
+
+    private static final int MAX_NAME = 16;
+    private static final int MAX_URL = 2048;
+    private static final int MAX_ANCHOR = 256;
+
+    private static final int TEXT = 0;
+    private static final int TAG_NAME = 1;
+    private static final int SKIP_TAG = 2;
+    private static final int BEFORE_ATTR = 3;
+    private static final int ATTR_NAME = 4;
+    private static final int AFTER_ATTR_NAME = 5;
+    private static final int BEFORE_VALUE = 6;
+    private static final int VALUE_QUOTED = 7;
+    private static final int VALUE_UNQUOTED = 8;
+
+    private static final int TAG_OTHER = 0;
+    private static final int TAG_ANCHOR = 1;
+    private static final int TAG_AREA = 2;
+    private static final int TAG_BASE = 3;
+
+    private LinkSink sink;
+    private final StringBuilder name = new StringBuilder(MAX_NAME);
+    private final StringBuilder value = new StringBuilder(128);
+    private final StringBuilder anchor = new StringBuilder(64);
+    private int state = TEXT;
+    private int tag = TAG_OTHER;
+    private char quote;
+    private boolean closing;
+    private boolean hrefAttr;
+    private boolean overflow;
+    private String pending;
+
+    public HtmlLinkTokenizer() {
+        this(_ -> {});
+    }
+
+    public HtmlLinkTokenizer(LinkSink sink) {
+        this.sink = sink;
+    }
+
+    public void reset() {
+        state = TEXT;
+        tag = TAG_OTHER;
+        closing = false;
+        pending = null;
+        name.setLength(0);
+        value.setLength(0);
+        anchor.setLength(0);
+    }
+
+    public void reset(LinkSink sink) {
+        this.sink = sink;
+        reset();
+    }
+
+    /** Hands over a link whose anchor was never closed; call once the whole document was fed. */
+    public void finish() {
+        emitPending();
+    }
+
+    public void feed(CharSequence text) {
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            // Jump straight to the next char that can change state instead of stepping through runs.
+            switch (state) {
+                case TEXT -> {
+                    int lt = indexOf(text, '<', i, n);
+                    if (pending != null) appendAnchor(text, i, lt < 0 ? n : lt);
+                    if (lt < 0) return;
+                    i = lt;
+                }
+                case SKIP_TAG -> {
+                    i = indexOf(text, '>', i, n);
+                    if (i < 0) return;
+                }
+                case VALUE_QUOTED -> {
+                    int close = indexOf(text, quote, i, n);
+                    append(text, i, close < 0 ? n : close);
+                    if (close < 0) return;
+                    i = close;
+                }
+                default -> {}
+            }
+            step(text.charAt(i++));
+        }
+    }
+
+    public void feed(char[] buf, int off, int len) {
+        feed(CharBuffer.wrap(buf, off, len));
+    }
+
+    private static int indexOf(CharSequence text, char c, int from, int to) {
+        if (text instanceof String s) return s.indexOf(c, from);
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    private void step(char c) {
+        switch (state) {
+            case TEXT -> {
+                if (c == '<') startTag();
+                else if (pending != null) appendAnchor(c);
+            }
+            case TAG_NAME -> {
+                if (isNameChar(c)) {
+                    if (name.length() < MAX_NAME) name.append(c);
+                } else if (c == '/' && name.isEmpty() && !closing) {
+                    closing = true;
+                } else if (c == '<') {
+                    startTag();
+                } else if (closing) {
+                    if (tagKind() == TAG_ANCHOR) emitPending();
+                    state = c == '>' ? TEXT : SKIP_TAG;
+                } else if (c == '>') {
+                    state = TEXT;
+                } else if (isSpace(c) && (tag = tagKind()) != TAG_OTHER) {
+                    state = BEFORE_ATTR;
+                } else {
+                    state = SKIP_TAG;
+                }
+            }
+            case SKIP_TAG -> {
+                if (c == '>') state = TEXT;
+            }
+            case BEFORE_ATTR -> {
+                if (c == '>') state = TEXT;
+                else if (!isSpace(c) && c != '/') startAttr(c);
+            }
+            case ATTR_NAME -> {
+                if (c == '=') beforeValue();
+                else if (c == '>') state = TEXT;
+                else if (isSpace(c)) state = AFTER_ATTR_NAME;
+                else if (c == '/') state = BEFORE_ATTR;
+                else if (name.length() < MAX_NAME) name.append(c);
+            }
+            case AFTER_ATTR_NAME -> {
+                if (c == '=') beforeValue();
+                else if (c == '>') state = TEXT;
+                else if (!isSpace(c)) startAttr(c);
+            }
+            case BEFORE_VALUE -> {
+                if (c == '"' || c == '\'') {
+                    quote = c;
+                    state = VALUE_QUOTED;
+                } else if (c == '>') {
+                    state = TEXT;
+                } else if (!isSpace(c)) {
+                    state = VALUE_UNQUOTED;
+                    append(c);
+                }
+            }
+            case VALUE_QUOTED -> {
+                if (c == quote) {
+                    finishValue();
+                    state = BEFORE_ATTR;
+                } else {
+                    append(c);
+                }
+            }
+            case VALUE_UNQUOTED -> {
+                if (c == '>') {
+                    finishValue();
+                    state = TEXT;
+                } else if (isSpace(c)) {
+                    finishValue();
+                    state = BEFORE_ATTR;
+                } else {
+                    append(c);
+                }
+            }
+            default -> state = TEXT;
+        }
+    }
+
+    private void startTag() {
+        state = TAG_NAME;
+        closing = false;
+        name.setLength(0);
+    }
+
+    private void startAttr(char c) {
+        state = ATTR_NAME;
+        name.setLength(0);
+        name.append(c);
+    }
+
+    private void beforeValue() {
+        state = BEFORE_VALUE;
+        hrefAttr = equalsIgnoreCase(name, "href");
+        value.setLength(0);
+        overflow = false;
+    }
+
+    private void append(char c) {
+        if (!hrefAttr) return;
+        if (value.length() < MAX_URL) value.append(c);
+        else overflow = true;
+    }
+
+    private void append(CharSequence text, int from, int to) {
+        if (!hrefAttr || from == to) return;
+        int room = MAX_URL - value.length();
+        if (to - from > room) {
+            to = from + room;
+            overflow = true;
+        }
+        value.append(text, from, to);
+    }
+
+    private void appendAnchor(char c) {
+        if (isSpace(c)) {
+            if (!anchor.isEmpty() && anchor.charAt(anchor.length() - 1) != ' ') anchor.append(' ');
+        } else if (anchor.length() < MAX_ANCHOR) {
+            anchor.append(c);
+        }
+    }
+
+    private void appendAnchor(CharSequence text, int from, int to) {
+        for (int i = from; i < to && anchor.length() < MAX_ANCHOR; i++) appendAnchor(text.charAt(i));
+    }
+
+    private void finishValue() {
+        if (!hrefAttr || overflow) return;
+        String v = value.toString().trim();
+        if (tag == TAG_BASE) {
+            if (!v.isEmpty()) sink.onBase(v);
+        } else if (!v.isEmpty() && !v.startsWith("#") && !v.startsWith("javascript:") && !v.startsWith("mailto:")) {
+            if (tag == TAG_AREA) {
+                sink.onLink(v, "");
+            } else {
+                emitPending();
+                pending = v;
+            }
+        }
+    }
+
+    private void emitPending() {
+        if (pending == null) return;
+        int end = anchor.length();
+        if (end > 0 && anchor.charAt(end - 1) == ' ') end--;
+        String href = pending;
+        pending = null;
+        sink.onLink(href, anchor.substring(0, end));
+        anchor.setLength(0);
+    }
+
+    private int tagKind() {
+        if (name.length() == 1) {
+            char c = name.charAt(0);
+            return c == 'a' || c == 'A' ? TAG_ANCHOR : TAG_OTHER;
+        }
+        if (equalsIgnoreCase(name, "area")) return TAG_AREA;
+        if (equalsIgnoreCase(name, "base")) return TAG_BASE;
+        return TAG_OTHER;
+    }
+
+    private static boolean equalsIgnoreCase(CharSequence a, String b) {
+        if (a.length() != b.length()) return false;
+        for (int i = 0; i < b.length(); i++) {
+            if (Character.toLowerCase(a.charAt(i)) != b.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f';
+    }
+}
@@ -0,0 +1,31 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public final class HtmlStreamScanner {
+    private HtmlStreamScanner() {}
+
+    /**
+     * Reads the page chunk by chunk, feeding the link tokenizer and looking for the
+     * keyword across chunk boundaries. Memory stays at one chunk plus the keyword
+     * length regardless of page size. Returns whether the keyword was found.
+     */
+    public static boolean scan(Reader in, KeywordMatcher matcher, HtmlLinkTokenizer tokenizer, int chunkSize)
+            throws IOException {
+        int carry = matcher.length() - 1;
+        char[] window = new char[carry + chunkSize];
+        int kept = 0;
+        boolean matched = false;
+        int n;
+        while ((n = in.read(window, kept, chunkSize)) != -1) {
+            tokenizer.feed(window, kept, n);
+            int end = kept + n;
+            if (!matched && matcher.indexIn(window, 0, end) >= 0) matched = true;
+            kept = Math.min(carry, end);
+            System.arraycopy(window, end - kept, window, 0, kept);
+        }
+        tokenizer.finish();
+        return matched;
+    }
+}
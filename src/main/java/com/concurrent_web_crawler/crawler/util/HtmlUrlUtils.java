@@ -3,46 +3,30 @@ package com.concurrent_web_crawler.crawler.util;
 import java.net.URI;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public final class HtmlUrlUtils {
     private HtmlUrlUtils() {}
 
-    public static final Pattern LINK_PATTERN = Pattern.compile(
-            "<a\\s+[^>]*?href\\s*=\\s*['\"][^'\"]+['\"][^>]*>",
-            Pattern.CASE_INSENSITIVE
-    );
-
     public static boolean containsKeyword(String html, String keyword) {
         return html.toLowerCase().contains(keyword.toLowerCase());
     }
 
     public static Set<String> extractLinks(String html) {
         Set<String> links = new HashSet<>();
-        Matcher m = LINK_PATTERN.matcher(html);
-        while (m.find()) {
-            String href = m.group(0);
-            int start = href.toLowerCase().indexOf("href");
-            if (start >= 0) {
-                int q1 = href.indexOf('"', start);
-                int q2 = href.indexOf('\'', start);
-                int open = (q1 == -1 || (q2 != -1 && q2 < q1)) ? q2 : q1;
-                if (open != -1) {
-                    char quote = href.charAt(open);
-                    int close = href.indexOf(quote, open + 1);
-                    if (close > open + 1) {
-                        String v = href.substring(open + 1, close).trim();
-                        if (!v.isEmpty() && !v.startsWith("#") && !v.startsWith("javascript:") && !v.startsWith("mailto:")) {
-                            links.add(v);
-                        }
-                    }
-                }
-            }
-        }
+        forEachLink(html, links::add);
         return links;
     }
 
+    public static void forEachLink(CharSequence html, HtmlLinkTokenizer.LinkSink sink) {
+        var tokenizer = new HtmlLinkTokenizer(sink);
+        tokenizer.feed(html);
+        tokenizer.finish();
+    }
+
+    /**
+     * URI-based normalization the crawler used before {@link UrlCanonicalizer};
+     * kept as the reference its conformance tests compare against.
+     */
     public static String normalizeAndFilterUrl(String baseUrl, String href) {
         try {
             URI base = URI.create(baseUrl);
@@ -0,0 +1,133 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Precompiled case-insensitive Boyer–Moore–Horspool matcher. Scans the text in
+ * place (no lowercase copy of the page) and stops at the first occurrence.
+ * Compile once per keyword and reuse; instances are immutable and thread-safe.
+ */
+public final class KeywordMatcher implements Serializable {
+
+    private static final int TABLE = 256;
+
+    private final String keyword;
+    private final char[] pattern;
+    private final int[] shift;
+    private final byte[] bytePattern;
+    private final int[] byteShift;
+
+    private KeywordMatcher(String keyword) {
+        this.keyword = keyword;
+        int m = keyword.length();
+        this.pattern = new char[m];
+        for (int i = 0; i < m; i++) pattern[i] = fold(keyword.charAt(i));
+
+        this.shift = new int[TABLE];
+        Arrays.fill(shift, m);
+        for (int i = 0; i < m - 1; i++) {
+            // chars sharing a bucket keep the smallest shift, which is always safe
+            int b = pattern[i] & (TABLE - 1);
+            shift[b] = Math.min(shift[b], m - 1 - i);
+        }
+
+        byte[] ascii = isAscii(pattern) ? new String(pattern).getBytes(StandardCharsets.US_ASCII) : null;
+        this.bytePattern = ascii;
+        if (ascii != null) {
+            this.byteShift = new int[TABLE];
+            Arrays.fill(byteShift, ascii.length);
+            for (int i = 0; i < ascii.length - 1; i++) byteShift[ascii[i] & 0xFF] = ascii.length - 1 - i;
+        } else {
+            this.byteShift = null;
+        }
+    }
+
+    public static KeywordMatcher compile(String keyword) {
+        if (keyword == null || keyword.isEmpty()) throw new IllegalArgumentException("Keyword is required");
+        return new KeywordMatcher(keyword);
+    }
+
+    public String keyword() {
+        return keyword;
+    }
+
+    public int length() {
+        return pattern.length;
+    }
+
+    public boolean matches(CharSequence text) {
+        return indexIn(text, 0, text.length()) >= 0;
+    }
+
+    /** Returns the index of the first match inside {@code [from, to)}, or -1. */
+    public int indexIn(CharSequence text, int from, int to) {
+        int m = pattern.length;
+        int last = m - 1;
+        int i = from;
+        while (i + last < to) {
+            char c = fold(text.charAt(i + last));
+            if (c == pattern[last]) {
+                int j = last - 1;
+                while (j >= 0 && fold(text.charAt(i + j)) == pattern[j]) j--;
+                if (j < 0) return i;
+            }
+            i += shift[c & (TABLE - 1)];
+        }
+        return -1;
+    }
+
+    /** Returns the index of the first match inside {@code [from, to)}, or -1. */
+    public int indexIn(char[] text, int from, int to) {
+        int m = pattern.length;
+        int last = m - 1;
+        int i = from;
+        while (i + last < to) {
+            char c = fold(text[i + last]);
+            if (c == pattern[last]) {
+                int j = last - 1;
+                while (j >= 0 && fold(text[i + j]) == pattern[j]) j--;
+                if (j < 0) return i;
+            }
+            i += shift[c & (TABLE - 1)];
+        }
+        return -1;
+    }
+
+    /** Byte matching is only available for ASCII keywords, where case folding never changes the UTF-8 length. */
+    public boolean supportsBytes() {
+        return bytePattern != null;
+    }
+
+    /** Searches raw ASCII-compatible bytes (UTF-8, ISO-8859-x) folding only ASCII letters. */
+    public int indexIn(byte[] text, int from, int to) {
+        if (bytePattern == null) throw new IllegalStateException("Keyword is not ASCII: " + keyword);
+        int m = bytePattern.length;
+        int last = m - 1;
+        int i = from;
+        while (i + last < to) {
+            int b = foldByte(text[i + last]);
+            if (b == bytePattern[last]) {
+                int j = last - 1;
+                while (j >= 0 && foldByte(text[i + j]) == bytePattern[j]) j--;
+                if (j < 0) return i;
+            }
+            i += byteShift[b & 0xFF];
+        }
+        return -1;
+    }
+
+    private static boolean isAscii(char[] chars) {
+        for (char c : chars) if (c >= 128) return false;
+        return true;
+    }
+
+    private static byte foldByte(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + 32) : b;
+    }
+
+    static char fold(char c) {
+        return c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c) : Character.toLowerCase(c);
+    }
+}
@@ -0,0 +1,156 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Case-insensitive Aho–Corasick matcher: finds which of a set of keywords occur
+ * in a text with a single left-to-right scan, independent of the keyword count.
+ */
+public final class MultiKeywordMatcher {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final int[] NO_INTS = new int[0];
+
+    private final List<String> keywords;
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    private MultiKeywordMatcher(List<String> keywords, char[][] labels, int[][] targets, int[] fail, int[][] outputs) {
+        this.keywords = keywords;
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    public static MultiKeywordMatcher compile(List<String> keywords) {
+        List<char[]> nodeLabels = new ArrayList<>();
+        List<int[]> nodeTargets = new ArrayList<>();
+        List<int[]> nodeOutputs = new ArrayList<>();
+        nodeLabels.add(NO_LABELS);
+        nodeTargets.add(NO_INTS);
+        nodeOutputs.add(NO_INTS);
+
+        for (int k = 0; k < keywords.size(); k++) {
+            String kw = keywords.get(k);
+            if (kw == null || kw.isEmpty()) throw new IllegalArgumentException("Keyword must not be empty");
+            int node = 0;
+            for (int i = 0; i < kw.length(); i++) {
+                char c = fold(kw.charAt(i));
+                int next = find(nodeLabels.get(node), nodeTargets.get(node), c);
+                if (next < 0) {
+                    next = nodeLabels.size();
+                    nodeLabels.add(NO_LABELS);
+                    nodeTargets.add(NO_INTS);
+                    nodeOutputs.add(NO_INTS);
+                    insert(nodeLabels, nodeTargets, node, c, next);
+                }
+                node = next;
+            }
+            nodeOutputs.set(node, append(nodeOutputs.get(node), k));
+        }
+
+        int n = nodeLabels.size();
+        char[][] labels = nodeLabels.toArray(new char[0][]);
+        int[][] targets = nodeTargets.toArray(new int[0][]);
+        int[][] outputs = nodeOutputs.toArray(new int[0][]);
+        int[] fail = new int[n];
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) queue.add(child);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < labels[node].length; i++) {
+                char c = labels[node][i];
+                int child = targets[node][i];
+                int f = fail[node];
+                int t;
+                while ((t = step(labels, targets, f, c)) < 0 && f != 0) f = fail[f];
+                fail[child] = (t >= 0 && t != child) ? t : 0;
+                outputs[child] = merge(outputs[child], outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+        return new MultiKeywordMatcher(List.copyOf(keywords), labels, targets, fail, outputs);
+    }
+
+    public List<String> keywords() {
+        return keywords;
+    }
+
+    /** Returns the indexes (into {@link #keywords()}) of every keyword found in the text. */
+    public BitSet matchAll(CharSequence text) {
+        BitSet found = new BitSet(keywords.size());
+        int remaining = keywords.size();
+        int node = 0;
+        for (int i = 0, len = text.length(); i < len && remaining > 0; i++) {
+            node = next(node, fold(text.charAt(i)));
+            for (int k : outputs[node]) {
+                if (!found.get(k)) {
+                    found.set(k);
+                    remaining--;
+                }
+            }
+        }
+        return found;
+    }
+
+    private int next(int node, char c) {
+        while (true) {
+            int t = step(labels, targets, node, c);
+            if (t >= 0) return t;
+            if (node == 0) return 0;
+            node = fail[node];
+        }
+    }
+
+    private static int step(char[][] labels, int[][] targets, int node, char c) {
+        int idx = Arrays.binarySearch(labels[node], c);
+        return idx >= 0 ? targets[node][idx] : -1;
+    }
+
+    private static int find(char[] labels, int[] targets, char c) {
+        int idx = Arrays.binarySearch(labels, c);
+        return idx >= 0 ? targets[idx] : -1;
+    }
+
+    private static void insert(List<char[]> nodeLabels, List<int[]> nodeTargets, int node, char c, int target) {
+        char[] l = nodeLabels.get(node);
+        int[] t = nodeTargets.get(node);
+        int pos = -(Arrays.binarySearch(l, c) + 1);
+        char[] nl = new char[l.length + 1];
+        int[] nt = new int[t.length + 1];
+        System.arraycopy(l, 0, nl, 0, pos);
+        System.arraycopy(t, 0, nt, 0, pos);
+        nl[pos] = c;
+        nt[pos] = target;
+        System.arraycopy(l, pos, nl, pos + 1, l.length - pos);
+        System.arraycopy(t, pos, nt, pos + 1, t.length - pos);
+        nodeLabels.set(node, nl);
+        nodeTargets.set(node, nt);
+    }
+
+    private static int[] append(int[] a, int v) {
+        int[] r = Arrays.copyOf(a, a.length + 1);
+        r[a.length] = v;
+        return r;
+    }
+
+    private static int[] merge(int[] a, int[] b) {
+        if (b.length == 0) return a;
+        if (a.length == 0) return b;
+        int[] r = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, r, a.length, b.length);
+        return r;
+    }
+
+    private static char fold(char c) {
+        return c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c) : Character.toLowerCase(c);
+    }
+}
@@ -0,0 +1,108 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.io.Serializable;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent crawl frontier ordered by priority: one lock-free queue per
+ * priority level, polled from the most promising level down and FIFO within a
+ * level. {@link #priority} ranks a link by how deep it is, whether the page
+ * linking to it matched the keyword and whether its anchor text or URL mention
+ * the keyword, so keyword-rich regions of a site are explored first.
+ */
+public final class PriorityFrontier extends AbstractQueue<PriorityFrontier.Entry> implements Serializable {
+
+    public static final int LEVELS = 32;
+
+    private static final int MAX_DEPTH_BONUS = 15;
+    private static final int ANCHOR_MATCH = 12;
+    private static final int PARENT_MATCH = 8;
+    private static final int URL_MATCH = 4;
+
+    public record Entry(String url, int depth) implements Serializable {}
+
+    // a plain array keeps the poll path free of list indirection; every element is a ConcurrentLinkedQueue<Entry>
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private final ConcurrentLinkedQueue<Entry>[] levels = new ConcurrentLinkedQueue[LEVELS];
+    private final AtomicInteger size = new AtomicInteger();
+
+    public PriorityFrontier() {
+        for (int i = 0; i < LEVELS; i++) levels[i] = new ConcurrentLinkedQueue<>();
+    }
+
+    public static int priority(int depth, boolean parentMatched, boolean anchorMatched, boolean urlMatched) {
+        int p = Math.max(0, MAX_DEPTH_BONUS - depth);
+        if (anchorMatched) p += ANCHOR_MATCH;
+        if (parentMatched) p += PARENT_MATCH;
+        if (urlMatched) p += URL_MATCH;
+        return Math.min(p, LEVELS - 1);
+    }
+
+    /** Adds with the priority a page at this depth gets on its own. */
+    @Override
+    public boolean offer(Entry entry) {
+        return offer(entry, priority(entry.depth(), false, false, false));
+    }
+
+    public boolean offer(Entry entry, int priority) {
+        levels[Math.clamp(priority, 0, LEVELS - 1)].offer(entry);
+        size.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public Entry poll() {
+        if (size.get() == 0) return null;
+        for (int p = LEVELS - 1; p >= 0; p--) {
+            Entry e = levels[p].poll();
+            if (e != null) {
+                size.decrementAndGet();
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Entry peek() {
+        for (int p = LEVELS - 1; p >= 0; p--) {
+            Entry e = levels[p].peek();
+            if (e != null) return e;
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.get() <= 0;
+    }
+
+    /** Weakly consistent, in priority order; does not support removal. */
+    @Override
+    public Iterator<Entry> iterator() {
+        return new Iterator<>() {
+            private int level = LEVELS - 1;
+            private Iterator<Entry> current = levels[level].iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && level > 0) current = levels[--level].iterator();
+                return current.hasNext();
+            }
+
+            @Override
+            public Entry next() {
+                hasNext();
+                return current.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.concurrent_web_crawler.crawler.util;
+
+/**
+ * Resolves hrefs against the page URL (or its first {@code <base href>}) and
+ * passes on only the links that stay inside the crawl base URL, canonicalized,
+ * together with their anchor text.
+ */
+public final class ResolvingLinkSink implements HtmlLinkTokenizer.LinkSink {
+
+    private final UrlCanonicalizer canonicalizer;
+    private final HtmlLinkTokenizer.LinkSink out;
+    private String documentBase;
+    private boolean baseSeen;
+
+    public ResolvingLinkSink(UrlCanonicalizer canonicalizer, String pageUrl, HtmlLinkTokenizer.LinkSink out) {
+        this.canonicalizer = canonicalizer;
+        this.out = out;
+        this.documentBase = pageUrl;
+    }
+
+    @Override
+    public void onBase(String href) {
+        if (baseSeen) return;
+        baseSeen = true;
+        String resolved = UrlCanonicalizer.resolve(documentBase, href);
+        if (resolved != null) documentBase = resolved;
+    }
+
+    @Override
+    public void onLink(String href) {
+        onLink(href, "");
+    }
+
+    @Override
+    public void onLink(String href, String anchorText) {
+        String canonical = canonicalizer.canonicalize(documentBase, href);
+        if (canonical != null) out.onLink(canonical, anchorText);
+    }
+}
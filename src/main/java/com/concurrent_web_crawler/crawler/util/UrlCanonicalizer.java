@@ -0,0 +1,293 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Canonical form of in-site URLs for one crawl base, computed by plain string
+ * scanning. The base is parsed once; links to another scheme, host or port are
+ * rejected before anything is allocated and no exception is ever used for
+ * control flow.
+ * <p>
+ * Canonical URLs have a lower-case scheme and host, no default port, no
+ * fragment, no dot segments, a "/" path for the site root, upper-case
+ * percent-escapes (unreserved characters decoded, unsafe ones encoded as UTF-8)
+ * and query parameters stably sorted by name. Thread-safe.
+ */
+public final class UrlCanonicalizer {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] PATH_CHARS = new boolean[128];
+    private static final boolean[] QUERY_CHARS = new boolean[128];
+
+    static {
+        String unreserved = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~";
+        String path = unreserved + "!$&'()*+,;=:@/";
+        for (int i = 0; i < path.length(); i++) PATH_CHARS[path.charAt(i)] = true;
+        System.arraycopy(PATH_CHARS, 0, QUERY_CHARS, 0, 128);
+        QUERY_CHARS['?'] = true;
+    }
+
+    private final String scheme;
+    private final String host;
+    private final int port;
+    private final String origin;
+    private final String root;
+
+    public UrlCanonicalizer(String baseUrl) {
+        URI base = URI.create(baseUrl.trim());
+        String s = base.getScheme() == null ? "" : base.getScheme().toLowerCase(Locale.ROOT);
+        if (!s.equals("http") && !s.equals("https") || base.getHost() == null) {
+            throw new IllegalArgumentException("Base URL must be an absolute http(s) URL: " + baseUrl);
+        }
+        scheme = s;
+        host = base.getHost().toLowerCase(Locale.ROOT);
+        port = base.getPort() == -1 ? defaultPort(scheme) : base.getPort();
+        origin = scheme + "://" + host + (port == defaultPort(scheme) ? "" : ":" + port);
+        String rawPath = base.getRawPath() == null ? "" : base.getRawPath();
+        StringBuilder sb = new StringBuilder(origin);
+        appendPath(sb, rawPath, 0, rawPath.length());
+        root = sb.toString();
+    }
+
+    /** The canonical base URL; every URL this instance accepts starts with it. */
+    public String root() {
+        return root;
+    }
+
+    /** Canonicalizes {@code href} resolved against {@code context}; null if it is outside the base. */
+    public String canonicalize(String context, String href) {
+        String absolute = resolve(context, href);
+        return absolute == null ? null : canonicalize(absolute);
+    }
+
+    /** Canonicalizes an absolute URL, or a relative one against the base; null if it is outside the base. */
+    public String canonicalize(String url) {
+        if (url == null) return null;
+        int colon = schemeEnd(url);
+        if (colon < 0) {
+            String absolute = resolve(root, url);
+            return absolute == null ? null : canonicalize(absolute);
+        }
+        if (colon != scheme.length() || !url.regionMatches(true, 0, scheme, 0, colon)) return null;
+        if (!url.startsWith("//", colon + 1)) return null;
+
+        int n = url.length();
+        int authStart = colon + 3;
+        int authEnd = indexOfAny(url, authStart, n, "/?#");
+        int at = url.indexOf('@', authStart);
+        if (at >= 0 && at < authEnd) return null;
+
+        int hostEnd = authEnd;
+        int portStart = -1;
+        int search = authStart < authEnd && url.charAt(authStart) == '[' ? url.indexOf(']', authStart) : authStart;
+        if (search < 0 || search >= authEnd) return null;
+        int sep = url.indexOf(':', search);
+        if (sep >= 0 && sep < authEnd) {
+            hostEnd = sep;
+            portStart = sep + 1;
+        }
+        if (hostEnd - authStart != host.length() || !url.regionMatches(true, authStart, host, 0, host.length())) {
+            return null;
+        }
+        if (portStart >= 0 && portStart < authEnd && parsePort(url, portStart, authEnd) != port) return null;
+
+        int pathEnd = indexOfAny(url, authEnd, n, "?#");
+        int queryEnd = pathEnd < n && url.charAt(pathEnd) == '?' ? indexOfAny(url, pathEnd, n, "#") : pathEnd;
+
+        StringBuilder sb = new StringBuilder(origin.length() + (queryEnd - authEnd) + 8).append(origin);
+        appendPath(sb, url, authEnd, pathEnd);
+        if (root.length() > origin.length() + 1 && !startsWith(sb, root)) return null;
+        if (queryEnd > pathEnd + 1) appendQuery(sb, url, pathEnd + 1, queryEnd);
+        return sb.toString();
+    }
+
+    /**
+     * RFC 3986 reference resolution on strings: {@code href} against the absolute
+     * URL {@code context}. The result is not yet canonical; null if the context is not absolute.
+     */
+    public static String resolve(String context, String href) {
+        if (schemeEnd(href) >= 0) return href;
+        int authStart = context.indexOf("://");
+        if (authStart < 0) return null;
+        authStart += 3;
+        int n = context.length();
+        if (href.startsWith("//")) return context.substring(0, authStart - 2) + href;
+        int pathStart = indexOfAny(context, authStart, n, "/?#");
+        if (href.startsWith("/")) return context.substring(0, pathStart) + href;
+        if (href.isEmpty() || href.startsWith("#")) return context;
+        int queryStart = indexOfAny(context, pathStart, n, "?#");
+        if (href.startsWith("?")) return context.substring(0, queryStart) + href;
+        int dir = context.lastIndexOf('/', queryStart - 1);
+        if (dir < pathStart) return context.substring(0, pathStart) + "/" + href;
+        return context.substring(0, dir + 1) + href;
+    }
+
+    private static void appendPath(StringBuilder sb, String s, int from, int to) {
+        int start = sb.length();
+        if (from == to || s.charAt(from) != '/') sb.append('/');
+        appendNormalized(sb, s, from, to, PATH_CHARS);
+        removeDotSegments(sb, start);
+    }
+
+    private static void appendQuery(StringBuilder sb, String s, int from, int to) {
+        int amp = s.indexOf('&', from);
+        if (amp < 0 || amp >= to) {
+            sb.append('?');
+            appendNormalized(sb, s, from, to, QUERY_CHARS);
+            return;
+        }
+        String[] params = new String[8];
+        int count = 0;
+        StringBuilder param = new StringBuilder(to - from);
+        for (int i = from; i <= to; ) {
+            int end = s.indexOf('&', i);
+            if (end < 0 || end > to) end = to;
+            if (end > i) {
+                param.setLength(0);
+                appendNormalized(param, s, i, end, QUERY_CHARS);
+                if (count == params.length) params = Arrays.copyOf(params, count * 2);
+                params[count++] = param.toString();
+            }
+            i = end + 1;
+        }
+        if (count == 0) return;
+        Arrays.sort(params, 0, count, UrlCanonicalizer::compareNames);
+        for (int i = 0; i < count; i++) sb.append(i == 0 ? '?' : '&').append(params[i]);
+    }
+
+    private static int compareNames(String a, String b) {
+        int ea = a.indexOf('=');
+        int eb = b.indexOf('=');
+        int la = ea < 0 ? a.length() : ea;
+        int lb = eb < 0 ? b.length() : eb;
+        for (int i = 0, n = Math.min(la, lb); i < n; i++) {
+            int d = a.charAt(i) - b.charAt(i);
+            if (d != 0) return d;
+        }
+        return la - lb;
+    }
+
+    private static void appendNormalized(StringBuilder sb, String s, int from, int to, boolean[] allowed) {
+        for (int i = from; i < to; ) {
+            char c = s.charAt(i);
+            int h1, h2;
+            if (c == '%' && i + 2 < to
+                    && (h1 = hex(s.charAt(i + 1))) >= 0 && (h2 = hex(s.charAt(i + 2))) >= 0) {
+                int b = h1 << 4 | h2;
+                if (b < 128 && isUnreserved((char) b)) sb.append((char) b);
+                else appendEscape(sb, b);
+                i += 3;
+            } else if (c < 128 && allowed[c]) {
+                sb.append(c);
+                i++;
+            } else {
+                int cp = s.codePointAt(i);
+                i += Character.charCount(cp);
+                if (cp <= 0xFFFF && Character.isSurrogate((char) cp)) cp = 0xFFFD;
+                appendUtf8(sb, cp);
+            }
+        }
+    }
+
+    private static void removeDotSegments(StringBuilder sb, int start) {
+        if (sb.indexOf("/.", start) < 0) return;
+        String path = sb.substring(start);
+        sb.setLength(start);
+        for (int i = 0, n = path.length(); i < n; ) {
+            int next = path.indexOf('/', i + 1);
+            if (next < 0) next = n;
+            int len = next - i - 1;
+            boolean last = next == n;
+            if (len == 1 && path.charAt(i + 1) == '.') {
+                if (last) sb.append('/');
+            } else if (len == 2 && path.charAt(i + 1) == '.' && path.charAt(i + 2) == '.') {
+                int cut = sb.lastIndexOf("/");
+                if (cut >= start) sb.setLength(cut);
+                if (last) sb.append('/');
+            } else {
+                sb.append(path, i, next);
+            }
+            i = next;
+        }
+        if (sb.length() == start) sb.append('/');
+    }
+
+    private static void appendEscape(StringBuilder sb, int b) {
+        sb.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+    }
+
+    private static void appendUtf8(StringBuilder sb, int cp) {
+        if (cp < 0x80) {
+            appendEscape(sb, cp);
+        } else if (cp < 0x800) {
+            appendEscape(sb, 0xC0 | cp >> 6);
+            appendEscape(sb, 0x80 | cp & 0x3F);
+        } else if (cp < 0x10000) {
+            appendEscape(sb, 0xE0 | cp >> 12);
+            appendEscape(sb, 0x80 | cp >> 6 & 0x3F);
+            appendEscape(sb, 0x80 | cp & 0x3F);
+        } else {
+            appendEscape(sb, 0xF0 | cp >> 18);
+            appendEscape(sb, 0x80 | cp >> 12 & 0x3F);
+            appendEscape(sb, 0x80 | cp >> 6 & 0x3F);
+            appendEscape(sb, 0x80 | cp & 0x3F);
+        }
+    }
+
+    private static int parsePort(String s, int from, int to) {
+        if (to - from > 5) return -1;
+        int p = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            p = p * 10 + (c - '0');
+        }
+        return p;
+    }
+
+    private static int schemeEnd(String s) {
+        if (s.isEmpty() || !isAlpha(s.charAt(0))) return -1;
+        for (int i = 1, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c == ':') return i;
+            if (!isAlpha(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '.') return -1;
+        }
+        return -1;
+    }
+
+    private static int indexOfAny(String s, int from, int to, String chars) {
+        for (int i = from; i < to; i++) {
+            if (chars.indexOf(s.charAt(i)) >= 0) return i;
+        }
+        return to;
+    }
+
+    private static boolean startsWith(StringBuilder sb, String prefix) {
+        if (sb.length() < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (sb.charAt(i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return isAlpha(c) || (c >= '0' && c <= '9') || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    private static int defaultPort(String scheme) {
+        return "https".equals(scheme) ? 443 : 80;
+    }
+}
@@ -0,0 +1,32 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import com.concurrent_web_crawler.crawler.enumerator.VisitedSetMode;
+
+import java.io.Serializable;
+
+/**
+ * URLs a crawl has already claimed. Implementations keep hashes rather than the
+ * URL strings and are safe for concurrent use; {@link #add} is the claim and
+ * returns true for exactly one caller per URL.
+ */
+public interface VisitedSet extends Serializable {
+
+    boolean add(String url);
+
+    boolean contains(String url);
+
+    int size();
+
+    /** Bytes held by the underlying tables. */
+    long memoryBytes();
+
+    /** Estimated probability that {@link #contains} reports a URL that was never added. */
+    double falsePositiveRate();
+
+    static VisitedSet create(VisitedSetMode mode, int expectedInsertions, double falsePositiveRate) {
+        return switch (mode) {
+            case FINGERPRINT -> new FingerprintVisitedSet(expectedInsertions);
+            case BLOOM -> new BloomVisitedSet(expectedInsertions, falsePositiveRate);
+        };
+    }
+}
@@ -1,15 +1,20 @@
 package com.concurrent_web_crawler.crawler.web;
 
+import com.concurrent_web_crawler.crawler.dto.CheckpointStats;
 import com.concurrent_web_crawler.crawler.dto.CrawlResponse;
+import com.concurrent_web_crawler.crawler.dto.CrawlStats;
+import com.concurrent_web_crawler.crawler.dto.PageCacheStats;
 import com.concurrent_web_crawler.crawler.dto.StartCrawlRequest;
 import com.concurrent_web_crawler.crawler.dto.StartResponse;
-import com.concurrent_web_crawler.crawler.enumerator.CrawlStatus;
+import com.concurrent_web_crawler.crawler.infra.executor.CrawlLimitsProperties;
 import com.concurrent_web_crawler.crawler.service.CrawlService;
+import com.concurrent_web_crawler.crawler.service.CrawlStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.net.URI;
 import java.util.NoSuchElementException;
 
@@ -19,26 +24,67 @@ import java.util.NoSuchElementException;
 public class CrawlController {
 
     private final CrawlService crawlService;
+    private final CrawlStreamService crawlStreamService;
+    private final CrawlLimitsProperties crawlLimitsProperties;
 
     @PostMapping(path = "/crawl", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<StartResponse> start(@Valid @RequestBody StartCrawlRequest body) {
-        String id = crawlService.start(body.keyword());
+        var limits = crawlLimitsProperties.resolve(body.maxPages(), body.maxResults());
+        StartResponse started = crawlService.start(body.keyword(), limits);
         return ResponseEntity.accepted()
-                .location(URI.create("/crawl/" + id))
-                .body(new StartResponse(id));
+                .location(URI.create("/crawl/" + started.id()))
+                .body(started);
     }
 
+    // a matching If-None-Match is answered with 304 by Spring from the ETag alone
     @GetMapping("/crawl/{id}")
-    public ResponseEntity<CrawlResponse> get(@PathVariable String id) {
+    public ResponseEntity<CrawlResponse> get(@PathVariable String id, @RequestParam(defaultValue = "0") int since) {
         try {
-            var state = crawlService.getState(id);
-            return ResponseEntity.ok(new CrawlResponse(
-                    state.id(),
-                    state.done() ? CrawlStatus.DONE : CrawlStatus.ACTIVE,
-                    state.results()
-            ));
+            var snapshot = crawlService.snapshot(id);
+            return ResponseEntity.ok()
+                    .eTag(snapshot.etag())
+                    .body(snapshot.since(since));
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @GetMapping(path = "/crawl/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@PathVariable String id,
+                                             @RequestParam(defaultValue = "0") int since,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) Integer lastEventId) {
+        try {
+            return ResponseEntity.ok(crawlStreamService.subscribe(id, lastEventId != null ? lastEventId : since));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/crawl/{id}/stats")
+    public ResponseEntity<CrawlStats> stats(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(crawlService.stats(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/crawl/{id}")
+    public ResponseEntity<CrawlResponse> cancel(@PathVariable String id, @RequestParam(required = false) String cancelToken) {
+        try {
+            return ResponseEntity.ok(crawlService.cancel(id, cancelToken).since(0));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/crawl/page-cache/stats")
+    public ResponseEntity<PageCacheStats> pageCacheStats() {
+        return ResponseEntity.ok(crawlService.pageCacheStats());
+    }
+
+    @GetMapping("/crawl/checkpoint/stats")
+    public ResponseEntity<CheckpointStats> checkpointStats() {
+        return ResponseEntity.ok(crawlService.checkpointStats());
+    }
 }
\ No newline at end of file
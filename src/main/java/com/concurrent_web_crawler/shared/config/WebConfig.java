@@ -1,16 +1,16 @@
 
 package com.concurrent_web_crawler.shared.config;
 
+import com.concurrent_web_crawler.crawler.infra.http.FetchProperties;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.lang.NonNull;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.net.http.HttpClient;
-import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -18,13 +18,18 @@ import java.util.concurrent.Executors;
 public class WebConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(5))
+    public HttpClient crawlerHttpClient(FetchProperties fetch, ExecutorService crawlerExecutorService) {
+        return HttpClient.newBuilder()
+                .connectTimeout(fetch.getConnectTimeout())
                 .followRedirects(HttpClient.Redirect.NORMAL)
-                .version(HttpClient.Version.HTTP_1_1)
+                .version(fetch.getHttpVersion())
+                .executor(crawlerExecutorService)
                 .build();
-        return new RestTemplate(new JdkClientHttpRequestFactory(client));
+    }
+
+    @Bean
+    public UrlCanonicalizer urlCanonicalizer(@Value("${crawler.base-url}") String baseUrl) {
+        return new UrlCanonicalizer(baseUrl);
     }
 
     @Bean(destroyMethod = "close")
@@ -0,0 +1,11 @@
+-- KEYS: results, done
+-- ARGV: url, max results
+-- returns {added, finished}; the caller drops a finished crawl from the active-crawl set
+if redis.call('EXISTS', KEYS[2]) == 1 then return {0, 0} end
+if redis.call('SCARD', KEYS[1]) >= tonumber(ARGV[2]) then return {0, 0} end
+local added = redis.call('SADD', KEYS[1], ARGV[1])
+if redis.call('SCARD', KEYS[1]) >= tonumber(ARGV[2]) then
+  redis.call('SET', KEYS[2], '1')
+  return {added, 1}
+end
+return {added, 0}
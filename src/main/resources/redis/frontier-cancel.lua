@@ -0,0 +1,4 @@
+-- KEYS: done, frontier, leased, lease scores
+redis.call('SET', KEYS[1], '1')
+redis.call('DEL', KEYS[2], KEYS[3], KEYS[4])
+return 1
@@ -0,0 +1,17 @@
+-- KEYS: visited, frontier, seq, done
+-- ARGV: max frontier, then (fingerprint, member, priority) per entry
+if redis.call('EXISTS', KEYS[4]) == 1 then return 0 end
+local size = redis.call('ZCARD', KEYS[2])
+local limit = tonumber(ARGV[1])
+local added = 0
+for i = 2, #ARGV, 3 do
+  if size >= limit then break end
+  if redis.call('SADD', KEYS[1], ARGV[i]) == 1 then
+    -- higher priority first, FIFO within a priority: (31 - priority) * 2^40 + arrival
+    local seq = redis.call('INCR', KEYS[3])
+    redis.call('ZADD', KEYS[2], (31 - tonumber(ARGV[i + 2])) * 1099511627776 + seq, ARGV[i + 1])
+    size = size + 1
+    added = added + 1
+  end
+end
+return added
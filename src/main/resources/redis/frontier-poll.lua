@@ -0,0 +1,33 @@
+-- KEYS: frontier, leased, lease scores, pages, done
+-- ARGV: max, lease millis, max pages
+if redis.call('EXISTS', KEYS[5]) == 1 then return {} end
+local t = redis.call('TIME')
+local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+
+-- entries leased by a node that died go back under their original score and give their page back
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now)
+for _, member in ipairs(expired) do
+  redis.call('ZREM', KEYS[2], member)
+  redis.call('ZADD', KEYS[1], redis.call('HGET', KEYS[3], member) or 0, member)
+  redis.call('HDEL', KEYS[3], member)
+  redis.call('DECR', KEYS[4])
+end
+
+local room = tonumber(ARGV[3]) - tonumber(redis.call('GET', KEYS[4]) or '0')
+local n = math.min(tonumber(ARGV[1]), room)
+local out = {}
+if n > 0 then
+  local popped = redis.call('ZPOPMIN', KEYS[1], n)
+  for i = 1, #popped, 2 do
+    redis.call('ZADD', KEYS[2], now + tonumber(ARGV[2]), popped[i])
+    redis.call('HSET', KEYS[3], popped[i], popped[i + 1])
+    out[#out + 1] = popped[i]
+  end
+end
+
+if #out > 0 then
+  redis.call('INCRBY', KEYS[4], #out)
+elseif redis.call('ZCARD', KEYS[2]) == 0 and (room <= 0 or redis.call('ZCARD', KEYS[1]) == 0) then
+  redis.call('SET', KEYS[5], '1')
+end
+return out
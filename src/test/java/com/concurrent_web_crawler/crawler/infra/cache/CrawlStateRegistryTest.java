@@ -0,0 +1,137 @@
+package com.concurrent_web_crawler.crawler.infra.cache;
+
+import com.concurrent_web_crawler.crawler.enumerator.CrawlStatus;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlProgress;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlStateRegistryTest {
+
+    private static final CrawlLimits LIMITS = new CrawlLimits(10_000, 100, 50_000);
+
+    private final ConcurrentMapCacheManager offload = new ConcurrentMapCacheManager();
+
+    @Test
+    void compactsFinishedCrawlsAndFallsBackToOffloadTier() {
+        var registry = new CrawlStateRegistry(offload, new CrawlStateRegistryProperties());
+        var state = new CrawlState("c1", "java", new FingerprintVisitedSet(), LIMITS, null);
+        registry.register(state);
+        state.getVisited().add("https://example.com/");
+        state.getFrontier().add(new PriorityFrontier.Entry("https://example.com/a", 1));
+        state.addResult("https://example.com/");
+
+        assertEquals(List.of("https://example.com/a"), registry.get("c1").orElseThrow().frontier());
+
+        state.markDone();
+        var done = registry.complete(state);
+        assertTrue(registry.active("c1").isEmpty());
+        assertTrue(done.done());
+        assertEquals(List.of(), done.frontier());
+        assertEquals(1, done.visitedCount());
+        assertEquals(done, registry.get("c1").orElseThrow());
+
+        var elsewhere = new CrawlStateRegistry(offload, new CrawlStateRegistryProperties());
+        assertEquals(done, elsewhere.get("c1").orElseThrow());
+        assertFalse(elsewhere.get("missing").isPresent());
+    }
+
+    @Test
+    void statsFollowTheCountersAndSurviveCompletion() {
+        var registry = new CrawlStateRegistry(offload, new CrawlStateRegistryProperties());
+        var state = new CrawlState("c2", "java", new FingerprintVisitedSet(), LIMITS, null);
+        registry.register(state);
+        var progress = state.getProgress();
+        progress.fetchStarted();
+        progress.fetched(1_000);
+        progress.fetched(500);
+        progress.failed(CrawlProgress.ErrorCategory.of(503));
+        progress.failed(CrawlProgress.ErrorCategory.of(200));
+        state.getFrontier().add(new PriorityFrontier.Entry("https://example.com/a", 1));
+
+        var live = registry.stats("c2").orElseThrow();
+        assertEquals(CrawlStatus.ACTIVE, live.status());
+        assertEquals(2, live.pagesFetched());
+        assertEquals(1_500, live.bytes());
+        assertEquals(1, live.errors().get(CrawlProgress.ErrorCategory.SERVER_ERROR));
+        assertEquals(1, live.errors().get(CrawlProgress.ErrorCategory.NOT_HTML));
+        assertEquals(0, live.errors().get(CrawlProgress.ErrorCategory.NETWORK));
+        assertEquals(1, live.frontierDepth());
+        assertEquals(1, live.inFlight());
+
+        progress.fetchFinished();
+        state.markDone();
+        registry.complete(state);
+        var done = registry.stats("c2").orElseThrow();
+        assertEquals(CrawlStatus.DONE, done.status());
+        assertEquals(2, done.pagesFetched());
+        assertEquals(0, done.inFlight());
+        assertEquals(0L, done.etaMillis());
+        assertFalse(registry.stats("missing").isPresent());
+    }
+
+    @Test
+    void sharedCrawlIsCancelledOnlyWhenEveryRequesterLeft() {
+        var registry = new CrawlStateRegistry(offload, new CrawlStateRegistryProperties());
+        var first = registry.joinOrRegister("java", LIMITS, "r1", () -> new CrawlState("c7", "java", new FingerprintVisitedSet(), LIMITS, null));
+        assertSame(first, registry.join("java", LIMITS, "r2").orElseThrow());
+        assertSame(first, registry.joinOrRegister("java", LIMITS, "r3", () -> new CrawlState("c8", "java", new FingerprintVisitedSet(), LIMITS, null)));
+
+        assertFalse(first.leave("r1"));
+        assertFalse(first.leave("r1"), "a retried cancel withdraws nothing more");
+        assertFalse(first.leave(null), "an anonymous cancel does not end a shared crawl");
+        assertFalse(first.leave("r2"));
+        assertTrue(first.leave("r3"));
+
+        // nobody is left to share it with, even before the cancel lands
+        assertTrue(registry.join("java", LIMITS, "r4").isEmpty());
+        var next = registry.joinOrRegister("java", LIMITS, "r4", () -> new CrawlState("c9", "java", new FingerprintVisitedSet(), LIMITS, null));
+        assertEquals("c9", next.getId());
+        assertFalse(first.leave("r3"));
+        assertTrue(next.leave(null));
+    }
+
+    @Test
+    void sharesRunningAndFreshCrawlsPerKeyword() {
+        var registry = new CrawlStateRegistry(offload, new CrawlStateRegistryProperties());
+        var limits = new CrawlLimits(100, 10, 1_000);
+        var first = registry.joinOrRegister("java", limits, "r1", () -> new CrawlState("c3", "java", new FingerprintVisitedSet(), limits, null));
+        var joined = registry.joinOrRegister("java", new CrawlLimits(50, 10, 1_000), "r2", () -> new CrawlState("c4", "java", new FingerprintVisitedSet(), limits, null));
+        assertSame(first, joined);
+        assertSame(first, registry.join("java", limits, "r3").orElseThrow());
+        var wider = new CrawlLimits(100, 20, 1_000);
+        assertTrue(registry.join("java", wider, "r4").isEmpty());
+
+        first.addResult("https://example.com/");
+        first.markDone();
+        registry.complete(first);
+        assertTrue(registry.join("java", limits, "r5").isEmpty());
+        assertEquals(List.of("https://example.com/"), registry.fresh("java", limits).orElseThrow().results());
+        assertTrue(registry.fresh("java", wider).isEmpty());
+
+        var cancelled = registry.joinOrRegister("scala", limits, "r3", () -> new CrawlState("c5", "scala", new FingerprintVisitedSet(), limits, null));
+        cancelled.cancel();
+        assertTrue(registry.join("scala", limits, "r6").isEmpty());
+        registry.complete(cancelled);
+        assertTrue(registry.fresh("scala", limits).isEmpty());
+
+        var props = new CrawlStateRegistryProperties();
+        props.setFreshFor(Duration.ZERO);
+        var noFreshness = new CrawlStateRegistry(offload, props);
+        var done = noFreshness.joinOrRegister("kotlin", limits, "r4", () -> new CrawlState("c6", "kotlin", new FingerprintVisitedSet(), limits, null));
+        done.markDone();
+        noFreshness.complete(done);
+        assertTrue(noFreshness.fresh("kotlin", limits).isEmpty());
+    }
+}
@@ -0,0 +1,187 @@
+package com.concurrent_web_crawler.crawler.infra.cache;
+
+import com.concurrent_web_crawler.crawler.infra.http.FetchProperties;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndexProperties;
+import com.concurrent_web_crawler.crawler.model.FetchResult;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.model.PageMetadata;
+import com.concurrent_web_crawler.crawler.model.PageValidators;
+import com.concurrent_web_crawler.crawler.port.out.PageFetcherPort;
+import com.concurrent_web_crawler.crawler.repository.PageMetadataRepository;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageCacheTest {
+
+    private static final String URL = "https://example.com/a";
+    private static final FetchedPage PAGE = new FetchedPage(URL, "<p>java</p>", List.of());
+
+    @TempDir
+    Path dir;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, PageMetadata> rows = new HashMap<>();
+    private final List<String> saves = new ArrayList<>();
+    private final List<String> indexWrites = new ArrayList<>();
+    private final List<PageValidators> sent = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void notModifiedReusesTheStaleIndexedCopy() throws Exception {
+        var index = index(true);
+        index.put(PAGE, 1);
+        rows.put(URL, metadata("\"v1\"", FingerprintVisitedSet.fingerprint(PAGE.content())));
+
+        var page = cache(index, FetchResult.notModified(new PageValidators("\"v1\"", null))).get(URL);
+
+        assertEquals(PAGE.content(), page.content());
+        assertEquals(List.of(new PageValidators("\"v1\"", null)), sent);
+        assertEquals(List.of("refresh"), indexWrites);
+        assertTrue(index.lookup(URL).isPresent());
+        assertEquals(List.of(URL), saves); // validated_at moved
+    }
+
+    @Test
+    void notModifiedWithoutStoredValidatorsFetchesTheFullPage() throws Exception {
+        var index = index(true);
+        index.put(PAGE, 1); // indexed copy whose metadata row is gone
+        var notModified = CompletableFuture.completedFuture(FetchResult.notModified(PageValidators.NONE));
+        var cache = cache(index, new PageCacheProperties(), notModified,
+                CompletableFuture.completedFuture(new FetchResult(PAGE, PageValidators.NONE)));
+
+        assertEquals(PAGE.content(), cache.get(URL).content());
+        assertEquals(List.of(PageValidators.NONE, PageValidators.NONE), sent);
+        assertEquals(List.of("put"), indexWrites);
+        assertTrue(saves.isEmpty());
+
+        var stuck = cache(index(false), new PageCacheProperties(), notModified);
+        assertNull(stuck.get(URL));
+    }
+
+    @Test
+    void unchangedContentIsNotAppendedAgain() throws Exception {
+        var index = index(true);
+        index.put(PAGE, 1);
+        rows.put(URL, metadata("\"v1\"", FingerprintVisitedSet.fingerprint(PAGE.content())));
+
+        cache(index, new FetchResult(PAGE, new PageValidators("\"v2\"", null))).get(URL);
+
+        assertEquals(List.of("refresh"), indexWrites);
+        assertEquals("\"v2\"", rows.get(URL).getEtag());
+    }
+
+    @Test
+    void recordsMetadataOnlyForRevalidatablePages() throws Exception {
+        cache(index(true), new FetchResult(PAGE, PageValidators.NONE)).get(URL);
+        assertEquals(List.of("put"), indexWrites);
+        assertTrue(saves.isEmpty());
+
+        cache(index(false), new FetchResult(PAGE, new PageValidators("\"v1\"", null))).get(URL);
+        assertTrue(saves.isEmpty());
+    }
+
+    @Test
+    void errorResponsesExpireSoonAndAreNotIndexed() throws Exception {
+        var props = new PageCacheProperties();
+        props.setErrorTtl(Duration.ofMillis(50));
+        var down = new FetchResult(FetchedPage.empty(URL, 503), new PageValidators("\"v1\"", null));
+        var cache = cache(index(true), props, CompletableFuture.completedFuture(down),
+                CompletableFuture.completedFuture(new FetchResult(PAGE, PageValidators.NONE)));
+
+        assertEquals(503, cache.get(URL).status());
+        assertEquals(503, cache.get(URL).status());
+        assertTrue(indexWrites.isEmpty());
+        assertTrue(saves.isEmpty());
+
+        Thread.sleep(100);
+        assertEquals(PAGE.content(), cache.get(URL).content());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void failedFetchesAreNotCached() throws Exception {
+        var cache = cache(index(false), new PageCacheProperties(), CompletableFuture.failedFuture(new IOException("reset")),
+                CompletableFuture.completedFuture(new FetchResult(PAGE, PageValidators.NONE)));
+
+        assertNull(cache.get(URL));
+        assertEquals(PAGE.content(), cache.get(URL).content());
+        assertEquals(2, sent.size());
+    }
+
+    private PageCache cache(SiteIndex index, FetchResult answer) {
+        return cache(index, new PageCacheProperties(), CompletableFuture.completedFuture(answer));
+    }
+
+    // answers in turn, repeating the last one
+    @SafeVarargs
+    private PageCache cache(SiteIndex index, PageCacheProperties props, CompletableFuture<FetchResult>... answers) {
+        PageFetcherPort fetcher = (_, known) -> {
+            sent.add(known);
+            return answers[Math.min(sent.size(), answers.length) - 1];
+        };
+        var fetch = new FetchProperties();
+        var repository = (PageMetadataRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PageMetadataRepository.class}, (_, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(rows.get((String) args[0]));
+                    case "save" -> {
+                        var row = (PageMetadata) args[0];
+                        saves.add(row.getUrl());
+                        rows.put(row.getUrl(), row);
+                        yield row;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new PageCache(fetcher, index, new PageMetadataStore(repository, fetch), props, executor);
+    }
+
+    private SiteIndex index(boolean enabled) {
+        var props = new SiteIndexProperties();
+        props.setEnabled(enabled);
+        props.setDir(dir.toString());
+        props.setMaxAge(Duration.ofHours(1));
+        props.setSegmentSizeBytes(1 << 16);
+        return new SiteIndex(props) {
+            @Override
+            public void put(FetchedPage page) {
+                indexWrites.add("put");
+                super.put(page);
+            }
+
+            @Override
+            public void refresh(String url) {
+                indexWrites.add("refresh");
+                super.refresh(url);
+            }
+        };
+    }
+
+    private static PageMetadata metadata(String etag, long hash) {
+        var at = OffsetDateTime.now().minusDays(1);
+        return PageMetadata.builder().url(URL).etag(etag).contentHash(hash).fetchedAt(at).validatedAt(at).build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.concurrent_web_crawler.crawler.infra.checkpoint;
+
+import com.concurrent_web_crawler.crawler.model.CrawlCheckpoint;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileCrawlCheckpointStoreTest {
+
+    private static final CrawlLimits LIMITS = new CrawlLimits(10_000, 100, 50_000);
+
+    @TempDir
+    Path dir;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void recoversFrontierProcessedAndResultsAndDropsTornTail() throws Exception {
+        var store = store();
+        var state = new CrawlState("c1", "java", new FingerprintVisitedSet(), new CrawlLimits(50, 5, 100), null);
+        var journal = store.open(state);
+        journal.enqueued(new PriorityFrontier.Entry("https://example.com/", 0), 0);
+        journal.enqueued(new PriorityFrontier.Entry("https://example.com/a", 1), 3);
+        journal.enqueued(new PriorityFrontier.Entry("https://example.com/b", 1), 7);
+        journal.processed("https://example.com/");
+        journal.result("https://example.com/");
+        store.flushAll();
+        Files.write(dir.resolve("c1.ckpt"), new byte[]{'E', 0, 40, 'h'}, StandardOpenOption.APPEND);
+
+        List<CrawlCheckpoint> recovered = store().recover();
+        assertTrue(store.recover().isEmpty());
+        assertEquals(1, recovered.size());
+        var cp = recovered.getFirst();
+        assertEquals("c1", cp.id());
+        assertEquals("java", cp.keyword());
+        assertEquals(new CrawlLimits(50, 5, 100), cp.limits());
+        assertEquals(List.of(new CrawlCheckpoint.Queued("https://example.com/a", 1, 3),
+                new CrawlCheckpoint.Queued("https://example.com/b", 1, 7)), cp.frontier());
+        assertEquals(List.of("https://example.com/"), cp.processed());
+        assertEquals(List.of("https://example.com/"), cp.results());
+        assertEquals(6, store.stats().records()); // header + 5 changes
+
+        journal.close();
+        assertFalse(Files.exists(dir.resolve("c1.ckpt")));
+    }
+
+    @Test
+    void resumedCrawlAppendsAfterTheTornTail() throws Exception {
+        var store = store();
+        var journal = store.open(new CrawlState("c3", "java", new FingerprintVisitedSet(), LIMITS, null));
+        journal.enqueued(new PriorityFrontier.Entry("https://example.com/", 0), 0);
+        store.flushAll();
+        Files.write(dir.resolve("c3.ckpt"), new byte[]{'E', 0, 40, 'h'}, StandardOpenOption.APPEND);
+
+        var resumed = store();
+        var cp = resumed.recover().getFirst();
+        var reopened = resumed.reopen(cp);
+        reopened.processed("https://example.com/");
+        reopened.enqueued(new PriorityFrontier.Entry("https://example.com/a", 1), 2);
+        resumed.flushAll();
+
+        var again = store().recover().getFirst();
+        assertEquals(List.of("https://example.com/"), again.processed());
+        assertEquals(List.of(new CrawlCheckpoint.Queued("https://example.com/a", 1, 2)), again.frontier());
+    }
+
+    @Test
+    void shutdownKeepsLogsOfRunningCrawls() throws Exception {
+        var store = store();
+        var journal = store.open(new CrawlState("c2", "java", new FingerprintVisitedSet(), LIMITS, null));
+        journal.processed("https://example.com/");
+        store.close();
+        journal.close();
+
+        assertTrue(Files.exists(dir.resolve("c2.ckpt")));
+        assertEquals(List.of("https://example.com/"), store().recover().getFirst().processed());
+    }
+
+    private FileCrawlCheckpointStore store() {
+        var props = new CheckpointProperties();
+        props.setDir(dir.toString());
+        props.setInterval(Duration.ofHours(1));
+        return new FileCrawlCheckpointStore(props, executor);
+    }
+}
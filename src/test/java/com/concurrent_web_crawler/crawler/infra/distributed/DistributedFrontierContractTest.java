@@ -0,0 +1,129 @@
+package com.concurrent_web_crawler.crawler.infra.distributed;
+
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.port.out.DistributedFrontierPort;
+import com.concurrent_web_crawler.crawler.port.out.DistributedFrontierPort.Job;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier.Entry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Scenarios every {@link DistributedFrontierPort} store must pass; one subclass per store. */
+abstract class DistributedFrontierContractTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    abstract DistributedFrontierPort store();
+
+    @Test
+    void nodesShareOneCrawlAndEachUrlIsLeasedOnce() {
+        var store = store();
+        var job = new Job("c1", "java", new CrawlLimits(1_000, 100, 1_000));
+        store.create(job, "/0");
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        var duplicates = ConcurrentHashMap.<String>newKeySet();
+
+        // a binary tree of 255 pages crawled by four nodes at once
+        try (var nodes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int n = 0; n < 4; n++) {
+                nodes.submit(() -> {
+                    while (!store.isDone("c1")) {
+                        for (Entry e : store.poll(job, 4, LEASE)) {
+                            if (!processed.add(e.url())) duplicates.add(e.url());
+                            int page = Integer.parseInt(e.url().substring(1));
+                            List<Entry> links = new ArrayList<>();
+                            for (int child : new int[]{2 * page + 1, 2 * page + 2, page}) {
+                                if (child < 255) links.add(new Entry("/" + child, e.depth() + 1));
+                            }
+                            store.offer(job, links, links.stream().map(_ -> 10).toList());
+                            if (page % 10 == 0) store.addResult(job, e.url());
+                            store.complete("c1", e);
+                        }
+                    }
+                });
+            }
+        }
+        assertEquals(255, processed.size());
+        assertTrue(duplicates.isEmpty());
+        assertEquals(26, store.results("c1").size());
+        assertFalse(store.activeCrawls().contains("c1"));
+    }
+
+    @Test
+    void enforcesLimitsAndHandsOutExpiredLeasesAgain() {
+        var store = store();
+        var job = new Job("c2", "java", new CrawlLimits(3, 2, 2));
+        store.create(job, "/seed");
+        assertEquals(1, store.offer(job, List.of(new Entry("/a", 1), new Entry("/b", 1), new Entry("/seed", 1)), List.of(1, 20, 1)));
+
+        List<Entry> first = store.poll(job, 10, Duration.ZERO);
+        assertEquals(List.of(new Entry("/seed", 0), new Entry("/a", 1)), first);
+        // the node died: its leases expire and the entries come back within the same page budget
+        assertEquals(first.size(), store.poll(job, 10, LEASE).size());
+        assertTrue(store.poll(job, 10, LEASE).isEmpty());
+
+        assertTrue(store.addResult(job, "/seed"));
+        assertTrue(store.addResult(job, "/a"));
+        assertFalse(store.addResult(job, "/other"));
+        assertTrue(store.isDone("c2"));
+        assertFalse(store.activeCrawls().contains("c2"));
+    }
+
+    @Test
+    void expiredLeasesKeepTheirPriority() {
+        var store = store();
+        var job = new Job("c5", "java", new CrawlLimits(100, 10, 100));
+        store.create(job, "/seed");
+        store.complete("c5", store.poll(job, 10, LEASE).getFirst());
+        store.offer(job, List.of(new Entry("/low", 1)), List.of(1));
+        assertEquals(List.of(new Entry("/low", 1)), store.poll(job, 10, Duration.ZERO));
+
+        store.offer(job, List.of(new Entry("/high", 1)), List.of(20));
+        assertEquals(List.of(new Entry("/high", 1), new Entry("/low", 1)), store.poll(job, 10, LEASE));
+    }
+
+    @Test
+    void cancelDropsTheFrontierAndKeepsResults() {
+        var store = store();
+        var job = new Job("c3", "java", new CrawlLimits(100, 10, 100));
+        store.create(job, "/seed");
+        assertTrue(store.activeCrawls().contains("c3"));
+        assertEquals(List.of(new Entry("/seed", 0)), store.poll(job, 10, LEASE));
+        assertTrue(store.addResult(job, "/seed"));
+        store.offer(job, List.of(new Entry("/a", 1)), List.of(5));
+
+        store.cancel("c3");
+        assertTrue(store.isDone("c3"));
+        assertFalse(store.activeCrawls().contains("c3"));
+        assertTrue(store.poll(job, 10, LEASE).isEmpty());
+        assertEquals(0, store.offer(job, List.of(new Entry("/b", 1)), List.of(5)));
+        assertFalse(store.addResult(job, "/a"));
+        assertEquals(List.of("/seed"), store.results("c3"));
+    }
+
+    @Test
+    void finishesOnceNothingIsQueuedOrLeased() {
+        var store = store();
+        var job = new Job("c4", "java", new CrawlLimits(100, 10, 100));
+        store.create(job, "/seed");
+        var seed = store.poll(job, 10, LEASE).getFirst();
+        // leased but not completed: the crawl is still running
+        assertTrue(store.poll(job, 10, LEASE).isEmpty());
+        assertFalse(store.isDone("c4"));
+
+        store.complete("c4", seed);
+        assertTrue(store.poll(job, 10, LEASE).isEmpty());
+        assertTrue(store.isDone("c4"));
+        assertFalse(store.activeCrawls().contains("c4"));
+        assertEquals(job, store.job("c4").orElseThrow());
+    }
+}
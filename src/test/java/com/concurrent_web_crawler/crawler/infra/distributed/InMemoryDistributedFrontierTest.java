@@ -0,0 +1,11 @@
+package com.concurrent_web_crawler.crawler.infra.distributed;
+
+import com.concurrent_web_crawler.crawler.port.out.DistributedFrontierPort;
+
+class InMemoryDistributedFrontierTest extends DistributedFrontierContractTest {
+
+    @Override
+    DistributedFrontierPort store() {
+        return new InMemoryDistributedFrontier();
+    }
+}
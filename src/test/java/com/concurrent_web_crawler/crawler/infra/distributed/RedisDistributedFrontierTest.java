@@ -0,0 +1,51 @@
+package com.concurrent_web_crawler.crawler.infra.distributed;
+
+import com.concurrent_web_crawler.crawler.port.out.DistributedFrontierPort;
+import com.concurrent_web_crawler.crawler.util.PriorityFrontier.Entry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/** Runs the store scenarios against the Lua scripts on a real Redis; skipped without Docker. */
+class RedisDistributedFrontierTest extends DistributedFrontierContractTest {
+
+    private static GenericContainer<?> server;
+    private static LettuceConnectionFactory connections;
+
+    @Override
+    DistributedFrontierPort store() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is required to run Redis");
+        if (server == null) {
+            server = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+            server.start();
+            connections = new LettuceConnectionFactory(new RedisStandaloneConfiguration(server.getHost(), server.getFirstMappedPort()));
+            connections.afterPropertiesSet();
+        }
+        var redis = new StringRedisTemplate(connections);
+        redis.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+        return new RedisDistributedFrontier(redis);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (connections != null) connections.destroy();
+        if (server != null) server.stop();
+    }
+
+    @Test
+    void membersRoundTrip() {
+        var entry = new Entry("https://example.com/a%20b?q=1", 7);
+        assertEquals(entry, RedisDistributedFrontier.decode(RedisDistributedFrontier.encode(entry)));
+    }
+}
@@ -0,0 +1,155 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import com.concurrent_web_crawler.crawler.infra.cache.PageCache;
+import com.concurrent_web_crawler.crawler.infra.cache.PageCacheProperties;
+import com.concurrent_web_crawler.crawler.infra.cache.PageMetadataStore;
+import com.concurrent_web_crawler.crawler.infra.checkpoint.CheckpointProperties;
+import com.concurrent_web_crawler.crawler.infra.checkpoint.FileCrawlCheckpointStore;
+import com.concurrent_web_crawler.crawler.infra.http.FetchProperties;
+import com.concurrent_web_crawler.crawler.infra.http.StreamingPageFetcher;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndexProperties;
+import com.concurrent_web_crawler.crawler.infra.metrics.CrawlMetrics;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.model.FetchResult;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.model.PageValidators;
+import com.concurrent_web_crawler.crawler.port.out.PageFetcherPort;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.HtmlLinkTokenizer;
+import com.concurrent_web_crawler.crawler.util.KeywordMatcher;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlJobTest {
+
+    private static final String ROOT = "https://example.com/";
+    private static final Map<String, FetchedPage> SITE = Map.of(
+            ROOT, new FetchedPage(ROOT, "java home", List.of(ROOT + "a")),
+            ROOT + "a", new FetchedPage(ROOT + "a", "more java", List.of(ROOT)));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumesPagesThatWereInFlightWhenTheCrawlWasKilled() throws Exception {
+        var limits = new CrawlLimits(10, 10, 100);
+        var fetching = new CountDownLatch(1);
+        ExecutorService first = Executors.newVirtualThreadPerTaskExecutor();
+        var store = store(first);
+        PageFetcherPort hanging = (_, _) -> {
+            fetching.countDown();
+            return new CompletableFuture<>();
+        };
+        job(hanging, store, first).start(new CrawlState("c1", "java", new FingerprintVisitedSet(), limits, null));
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        store.close(); // last flush, then the process dies with the seed still in flight
+        first.shutdownNow();
+
+        ExecutorService second = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            var recovered = store(second);
+            var cp = recovered.recover().getFirst();
+            assertEquals(List.of(), cp.processed());
+            assertEquals(List.of(ROOT), cp.frontier().stream().map(q -> q.url()).toList());
+
+            var done = new CountDownLatch(1);
+            var state = new CrawlState(cp.id(), cp.keyword(), new FingerprintVisitedSet(), cp.limits(), (_, _) -> done.countDown());
+            PageFetcherPort site = (url, _) -> CompletableFuture.completedFuture(new FetchResult(SITE.get(url), PageValidators.NONE));
+            job(site, recovered, second).resume(state, cp);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(ROOT, ROOT + "a"), state.results());
+            assertTrue(recovered.recover().isEmpty());
+        } finally {
+            second.shutdownNow();
+        }
+    }
+
+    @Test
+    void onlyACrawlWhosePagesAllReachedTheIndexCompletesASweep() throws Exception {
+        PageFetcherPort site = (url, _) -> CompletableFuture.completedFuture(new FetchResult(SITE.get(url), PageValidators.NONE));
+        PageFetcherPort failing = (url, validators) -> ROOT.equals(url) ? site.fetch(url, validators)
+                : CompletableFuture.failedFuture(new IOException("connection reset"));
+
+        assertTrue(sweep(site, false).answer("rust", 10).isPresent());
+        assertFalse(sweep(failing, false).answer("rust", 10).isPresent());
+        // streamed pages never go through the page cache, so nothing was indexed
+        var streamed = sweep(site, true);
+        assertFalse(streamed.answer("rust", 10).isPresent());
+        assertTrue(streamed.lookup(ROOT).isEmpty());
+    }
+
+    private SiteIndex sweep(PageFetcherPort fetcher, boolean streaming) throws Exception {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            var index = new SiteIndexProperties();
+            index.setDir(Files.createTempDirectory(dir, "index").toString());
+            var siteIndex = new SiteIndex(index);
+            var fetch = new FetchProperties();
+            fetch.setStreaming(streaming);
+            var done = new CountDownLatch(1);
+            job(fetcher, new StubStreamingFetcher(), fetch, siteIndex, store(executor), executor)
+                    .start(new CrawlState("c1", "rust", new FingerprintVisitedSet(), new CrawlLimits(10, 10, 100), (_, _) -> done.countDown()));
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            return siteIndex;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CrawlJob job(PageFetcherPort fetcher, FileCrawlCheckpointStore store, ExecutorService executor) {
+        var index = new SiteIndexProperties();
+        index.setEnabled(false);
+        return job(fetcher, null, new FetchProperties(), new SiteIndex(index), store, executor);
+    }
+
+    private CrawlJob job(PageFetcherPort fetcher, StreamingPageFetcher streamingFetcher, FetchProperties fetch,
+                         SiteIndex siteIndex, FileCrawlCheckpointStore store, ExecutorService executor) {
+        fetch.setRevalidate(false);
+        var pageCache = new PageCache(fetcher, siteIndex, new PageMetadataStore(null, fetch), new PageCacheProperties(), executor);
+        var job = new CrawlJob(pageCache, streamingFetcher, fetch, siteIndex, executor, new UrlCanonicalizer(ROOT), store,
+                CrawlMetrics.standalone());
+        ReflectionTestUtils.setField(job, "maxInFlight", 4);
+        return job;
+    }
+
+    private FileCrawlCheckpointStore store(ExecutorService executor) {
+        var props = new CheckpointProperties();
+        props.setDir(dir.toString());
+        props.setInterval(Duration.ofHours(1));
+        return new FileCrawlCheckpointStore(props, executor);
+    }
+
+    /** Scans {@link #SITE} instead of streaming it over HTTP. */
+    private static final class StubStreamingFetcher extends StreamingPageFetcher {
+        StubStreamingFetcher() {
+            super(null, null, null, null, null, null);
+        }
+
+        @Override
+        public boolean scan(String urlStr, KeywordMatcher matcher, HtmlLinkTokenizer.LinkSink links) {
+            FetchedPage page = SITE.get(urlStr);
+            page.links().forEach(links::onLink);
+            return matcher.matches(page.content());
+        }
+    }
+}
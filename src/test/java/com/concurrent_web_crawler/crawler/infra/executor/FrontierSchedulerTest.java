@@ -0,0 +1,49 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrontierSchedulerTest {
+
+    @Test
+    void cancellingTheCrawlInterruptsInFlightTasksAndStopsDispatching() throws Exception {
+        var state = new CrawlState("id", "java", null, new CrawlLimits(100, 10, 100), null);
+        var frontier = new ConcurrentLinkedQueue<Integer>();
+        for (int i = 0; i < 100; i++) frontier.add(i);
+        var started = new CountDownLatch(4);
+        var interrupted = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var scheduler = new FrontierScheduler(executor, 4);
+            state.onAbort(scheduler::abort);
+            var driver = executor.submit(() -> {
+                scheduler.run(frontier, _ -> true, () -> true, _ -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                    }
+                });
+                return null;
+            });
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(state.cancel());
+            driver.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(4, interrupted.get());
+        assertTrue(frontier.size() >= 95, "the driver polls at most one entry past the running tasks");
+        assertTrue(state.done() && state.cancelled());
+    }
+}
@@ -0,0 +1,193 @@
+package com.concurrent_web_crawler.crawler.infra.executor;
+
+import com.concurrent_web_crawler.crawler.infra.cache.PageCache;
+import com.concurrent_web_crawler.crawler.infra.cache.PageCacheProperties;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndex;
+import com.concurrent_web_crawler.crawler.infra.index.SiteIndexProperties;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedCrawlEngineTest {
+
+    private static final String ROOT = "https://example.com/";
+    private static final CrawlLimits LIMITS = new CrawlLimits(100, 10, 100);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final StubPageCache pageCache = new StubPageCache(executor);
+    private final SharedCrawlEngine engine = engine(pageCache, executor);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void crawlJoiningMidSweepReplaysFetchedPagesAndGetsLiveMatches() throws Exception {
+        pageCache.page(ROOT, "alpha beta", ROOT + "a");
+        pageCache.page(ROOT + "a", "beta", ROOT + "b");
+        pageCache.page(ROOT + "b", "alpha beta");
+        var gate = pageCache.gate(ROOT + "b");
+
+        var alpha = new Crawl("c1", "alpha", LIMITS);
+        engine.start(alpha.state);
+        // the chain root -> a -> b means root and a are processed once b is being fetched
+        assertTrue(gate.fetching.await(5, TimeUnit.SECONDS));
+        var beta = new Crawl("c2", "beta", LIMITS);
+        engine.start(beta.state);
+        gate.release.countDown();
+
+        alpha.await();
+        beta.await();
+        assertEquals(Set.of(ROOT, ROOT + "b"), Set.copyOf(alpha.state.results()));
+        assertEquals(Set.of(ROOT, ROOT + "a", ROOT + "b"), Set.copyOf(beta.state.results()));
+        // the replay is served from the cache instead of fetching again
+        assertEquals(Map.of(ROOT, 1, ROOT + "a", 1, ROOT + "b", 1), pageCache.fetches());
+        assertEquals(3, alpha.state.getProgress().pages());
+    }
+
+    @Test
+    void eachCrawlStopsAtItsOwnResultLimit() throws Exception {
+        pageCache.page(ROOT, "java", ROOT + "a", ROOT + "b");
+        pageCache.page(ROOT + "a", "java");
+        pageCache.page(ROOT + "b", "java");
+        var gate = pageCache.gate(ROOT);
+
+        var one = new Crawl("c1", "java", new CrawlLimits(100, 1, 100));
+        var three = new Crawl("c2", "java", LIMITS);
+        engine.start(one.state);
+        engine.start(three.state);
+        gate.release.countDown();
+
+        one.await();
+        three.await();
+        assertEquals(1, one.state.results().size());
+        assertFalse(one.state.cancelled());
+        assertEquals(Set.of(ROOT, ROOT + "a", ROOT + "b"), Set.copyOf(three.state.results()));
+    }
+
+    @Test
+    void lastSubscriberLeavingStopsTheSweep() throws Exception {
+        pageCache.page(ROOT, "java", ROOT + "a");
+        pageCache.page(ROOT + "a", "java");
+        var gate = pageCache.gate(ROOT + "a");
+
+        var first = new Crawl("c1", "java", LIMITS);
+        var second = new Crawl("c2", "java", LIMITS);
+        engine.start(first.state);
+        engine.start(second.state);
+        assertTrue(gate.fetching.await(5, TimeUnit.SECONDS));
+
+        assertTrue(first.state.cancel());
+        assertFalse(gate.interrupted.await(200, TimeUnit.MILLISECONDS), "a subscriber is still waiting on the fetch");
+        assertTrue(second.state.cancel());
+        assertTrue(gate.interrupted.await(5, TimeUnit.SECONDS));
+
+        // the aborted sweep is not joined again; a new crawl gets a fresh one
+        var third = new Crawl("c3", "java", LIMITS);
+        engine.start(third.state);
+        third.await();
+        assertEquals(Set.of(ROOT, ROOT + "a"), Set.copyOf(third.state.results()));
+    }
+
+    private static SharedCrawlEngine engine(PageCache pageCache, ExecutorService executor) {
+        var index = new SiteIndexProperties();
+        index.setEnabled(false);
+        var engine = new SharedCrawlEngine(pageCache, new SiteIndex(index), executor, new UrlCanonicalizer(ROOT),
+                new VisitedSetProperties(), new CrawlLimitsProperties());
+        ReflectionTestUtils.setField(engine, "maxInFlight", 4);
+        return engine;
+    }
+
+    private static final class Crawl {
+        final CountDownLatch done = new CountDownLatch(1);
+        final CrawlState state;
+
+        Crawl(String id, String keyword, CrawlLimits limits) {
+            state = new CrawlState(id, keyword, new FingerprintVisitedSet(), limits, (_, _) -> done.countDown());
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(5, TimeUnit.SECONDS), state.getId() + " did not finish");
+        }
+    }
+
+    /** Serves a fixed site; a gated URL blocks its first fetch until released. */
+    private static final class StubPageCache extends PageCache {
+        private final Map<String, FetchedPage> site = new HashMap<>();
+        private final Map<String, Gate> gates = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+        private final Set<String> cached = ConcurrentHashMap.newKeySet();
+
+        StubPageCache(ExecutorService executor) {
+            super(null, null, null, new PageCacheProperties(), executor);
+        }
+
+        void page(String url, String content, String... links) {
+            site.put(url, new FetchedPage(url, content, List.of(links)));
+        }
+
+        Gate gate(String url) {
+            var gate = new Gate();
+            gates.put(url, gate);
+            return gate;
+        }
+
+        Map<String, Integer> fetches() {
+            Map<String, Integer> counts = new HashMap<>();
+            fetches.forEach((url, n) -> counts.put(url, n.get()));
+            return counts;
+        }
+
+        @Override
+        public FetchedPage get(String url) throws InterruptedException {
+            if (cached.contains(url)) return site.get(url);
+            fetches.computeIfAbsent(url, _ -> new AtomicInteger()).incrementAndGet();
+            Gate gate = gates.remove(url);
+            if (gate != null) gate.pass();
+            cached.add(url);
+            return site.get(url);
+        }
+
+        @Override
+        public FetchedPage getIfPresent(String url) {
+            return cached.contains(url) ? site.get(url) : null;
+        }
+    }
+
+    private static final class Gate {
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        void pass() throws InterruptedException {
+            fetching.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                interrupted.countDown();
+                throw ie;
+            }
+        }
+    }
+}
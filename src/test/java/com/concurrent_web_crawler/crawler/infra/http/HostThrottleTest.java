@@ -0,0 +1,106 @@
+package com.concurrent_web_crawler.crawler.infra.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostThrottleTest {
+
+    private static final URI HOST = URI.create("https://example.com/a");
+    private static final URI OTHER = URI.create("https://other.example.com/a");
+
+    @Test
+    void pacesRequestStartsPerHost() throws Exception {
+        var throttle = new HostThrottle(props(20, 8)); // one start every 50 ms
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 5; i++) throttle.acquire(HOST).close();
+        long paced = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        throttle.acquire(OTHER).close();
+        long unrelated = System.nanoTime() - started;
+
+        assertTrue(paced >= TimeUnit.MILLISECONDS.toNanos(180), "5 starts took " + paced / 1_000_000 + " ms");
+        assertTrue(unrelated < TimeUnit.MILLISECONDS.toNanos(50), "another host is not paced by the first");
+    }
+
+    @Test
+    void capsConcurrentConnectionsPerHost() throws Exception {
+        var throttle = new HostThrottle(props(1_000, 2));
+        var first = throttle.acquire(HOST);
+        var second = throttle.acquire(HOST);
+
+        var third = CompletableFuture.supplyAsync(() -> {
+            try {
+                return throttle.acquire(HOST);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(third.isDone());
+        throttle.acquire(OTHER).close();
+
+        first.close();
+        first.close(); // releasing twice must not hand out an extra connection
+        third.get(5, TimeUnit.SECONDS).close();
+        second.close();
+    }
+
+    @Test
+    void backsOffOnOverloadUntilRetryAfterWithinTheCap() throws Exception {
+        var props = props(1_000, 8);
+        props.setMaxBackoff(Duration.ofMillis(200));
+        var throttle = new HostThrottle(props);
+
+        try (var permit = throttle.acquire(HOST)) {
+            assertFalse(permit.onResponse(200, null));
+        }
+        try (var permit = throttle.acquire(HOST)) {
+            assertTrue(permit.onResponse(429, "120")); // capped at max-backoff
+        }
+        long started = System.nanoTime();
+        throttle.acquire(HOST).close();
+        long waited = System.nanoTime() - started;
+
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(150), "waited " + waited / 1_000_000 + " ms");
+        assertTrue(waited < TimeUnit.SECONDS.toNanos(2), "waited " + waited / 1_000_000 + " ms");
+    }
+
+    @Test
+    void parsesRetryAfterDeltaSeconds() {
+        assertEquals(TimeUnit.SECONDS.toNanos(5), HostThrottle.parseRetryAfterNanos("5"));
+        assertEquals(TimeUnit.SECONDS.toNanos(7), HostThrottle.parseRetryAfterNanos(" 7 "));
+        assertEquals(0, HostThrottle.parseRetryAfterNanos("-3"));
+        assertEquals(0, HostThrottle.parseRetryAfterNanos(null));
+        assertEquals(0, HostThrottle.parseRetryAfterNanos(""));
+        assertEquals(0, HostThrottle.parseRetryAfterNanos("soon"));
+    }
+
+    @Test
+    void parsesRetryAfterHttpDate() {
+        var inThirtySeconds = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30);
+        long nanos = HostThrottle.parseRetryAfterNanos(DateTimeFormatter.RFC_1123_DATE_TIME.format(inThirtySeconds));
+        assertTrue(nanos > TimeUnit.SECONDS.toNanos(27) && nanos <= TimeUnit.SECONDS.toNanos(30), nanos + " ns");
+
+        assertEquals(0, HostThrottle.parseRetryAfterNanos("Wed, 21 Oct 2015 07:28:00 GMT"));
+    }
+
+    private static PolitenessProperties props(double requestsPerSecond, int maxConcurrentPerHost) {
+        var props = new PolitenessProperties();
+        props.setRequestsPerSecond(requestsPerSecond);
+        props.setMaxConcurrentPerHost(maxConcurrentPerHost);
+        return props;
+    }
+}
@@ -0,0 +1,156 @@
+package com.concurrent_web_crawler.crawler.infra.http;
+
+import com.concurrent_web_crawler.crawler.infra.metrics.CrawlMetrics;
+import com.concurrent_web_crawler.crawler.model.PageValidators;
+import com.concurrent_web_crawler.crawler.util.UrlCanonicalizer;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpPageFetcherTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpPageFetcher fetcher;
+    private String base;
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger overloadedCalls = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            byte[] html = "<p>java</p><a href=\"/next\">Next page</a>".getBytes(StandardCharsets.UTF_8);
+            var gz = new ByteArrayOutputStream();
+            try (var out = new GZIPOutputStream(gz)) {
+                out.write(html);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, gz.size());
+            exchange.getResponseBody().write(gz.toByteArray());
+            exchange.close();
+        });
+        server.createContext("/large", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, 0);
+            try (var out = exchange.getResponseBody()) {
+                for (int i = 0; i < 1024; i++) out.write("<p>filler text</p>\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/etag", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] html = "<p>static</p>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, html.length);
+            exchange.getResponseBody().write(html);
+            exchange.close();
+        });
+        server.createContext("/image", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, 4);
+            exchange.getResponseBody().write(new byte[4]);
+            exchange.close();
+        });
+        server.createContext("/flaky", exchange -> {
+            if (flakyCalls.incrementAndGet() <= 2) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            byte[] html = "<p>back</p>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, html.length);
+            exchange.getResponseBody().write(html);
+            exchange.close();
+        });
+        server.createContext("/overloaded", exchange -> {
+            overloadedCalls.incrementAndGet();
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        var fetch = new FetchProperties();
+        fetch.setMaxBodySize(DataSize.ofKilobytes(1));
+        var politeness = new PolitenessProperties();
+        politeness.setRequestsPerSecond(1_000);
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+        fetcher = new HttpPageFetcher(client, new HostThrottle(politeness), politeness, fetch,
+                new UrlCanonicalizer(base), executor, new CrawlMetrics(meters, ObservationRegistry.NOOP));
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+        executor.close();
+    }
+
+    @Test
+    void decodesCompressedHtmlAndExtractsLinks() {
+        var page = fetcher.fetch(base + "/gzip").join();
+        assertTrue(page.content().contains("java"));
+        assertEquals(List.of(base + "/next"), page.links());
+        assertEquals("Next page", page.anchor(0));
+        assertEquals(1, meters.get("crawler.fetch").tags("host", "127.0.0.1", "status", "200").timer().count());
+        assertEquals(1, meters.get("crawler.links.extracted").counter().count());
+        assertEquals(0, meters.get("crawler.fetch.in_flight").gauge().value());
+    }
+
+    @Test
+    void revalidatesWithKnownValidators() {
+        var first = fetcher.fetch(base + "/etag", PageValidators.NONE).join();
+        assertFalse(first.notModified());
+        assertEquals(new PageValidators("\"v1\"", null), first.validators());
+
+        var second = fetcher.fetch(base + "/etag", first.validators()).join();
+        assertTrue(second.notModified());
+    }
+
+    @Test
+    void truncatesBodiesAtTheSizeLimitAndSkipsNonHtml() {
+        assertEquals(1024, fetcher.fetch(base + "/large").join().content().length());
+        assertFalse(fetcher.fetch(base + "/image").join().html());
+        assertFalse(fetcher.fetch(base + "/missing").join().html());
+    }
+
+    @Test
+    void retriesOverloadedResponsesUpToTheLimit() {
+        var page = fetcher.fetch(base + "/flaky").join();
+        assertEquals("<p>back</p>", page.content());
+        assertEquals(3, flakyCalls.get());
+
+        var gaveUp = fetcher.fetch(base + "/overloaded").join();
+        assertFalse(gaveUp.html());
+        assertEquals(429, gaveUp.status());
+        assertEquals(3, overloadedCalls.get()); // the first attempt plus max-retries
+    }
+}
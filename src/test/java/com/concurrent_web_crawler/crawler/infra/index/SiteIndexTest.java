@@ -0,0 +1,162 @@
+package com.concurrent_web_crawler.crawler.infra.index;
+
+import com.concurrent_web_crawler.crawler.model.FetchedPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SiteIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void answersSubstringQueriesAfterReopen() {
+        var index = new SiteIndex(props());
+        index.put(page("http://site/a", "<p>Learn about Security headers</p>"));
+        index.put(page("http://site/b", "<p>nothing here</p>"));
+        index.put(page("http://site/c", "<a href=\"/insecurity\">x</a>"));
+        index.markSweepComplete(System.currentTimeMillis());
+        index.close();
+
+        var reopened = new SiteIndex(props());
+
+        assertEquals(List.of("http://site/a", "http://site/c"), reopened.answer("security", 100).orElseThrow());
+        assertEquals(List.of(), reopened.answer("kubernetes", 100).orElseThrow());
+        assertEquals(List.of("http://site/b"), reopened.lookup("http://site/b").orElseThrow().links());
+    }
+
+    @Test
+    void refusesToAnswerWithoutFreshSweep() {
+        var index = new SiteIndex(props());
+        index.put(page("http://site/a", "security"));
+
+        assertTrue(index.answer("security", 100).isEmpty());
+        assertEquals(List.of("http://site/a"), index.answer("security", 1).orElseThrow());
+    }
+
+    @Test
+    void latestCopyOfAPageWins() {
+        var index = new SiteIndex(props());
+        index.put(page("http://site/a", "old security text"));
+        index.put(page("http://site/a", "rewritten"));
+        index.markSweepComplete(System.currentTimeMillis());
+
+        assertEquals(List.of(), index.answer("security", 100).orElseThrow());
+    }
+
+    @Test
+    void compactsSupersededCopiesAndKeepsTheLatest() throws IOException {
+        var index = new SiteIndex(props());
+        for (int i = 0; i < 50; i++) {
+            index.put(page("http://site/a", "revision " + i + " " + "x".repeat(300)));
+            index.put(page("http://site/b", "security " + i));
+        }
+        index.markSweepComplete(System.currentTimeMillis());
+
+        assertTrue(segmentCount() <= 2, segmentCount() + " segments");
+        assertTrue(index.lookup("http://site/a").orElseThrow().content().startsWith("revision 49 "));
+        assertEquals(List.of("http://site/b"), index.answer("security 49", 100).orElseThrow());
+        index.close();
+
+        var reopened = new SiteIndex(props());
+        assertEquals("security 49", reopened.lookup("http://site/b").orElseThrow().content());
+        assertEquals(List.of(), reopened.answer("revision 48", 100).orElseThrow());
+    }
+
+    @Test
+    void lookupsStayConsistentWhileCompacting() throws Exception {
+        var index = new SiteIndex(props());
+        var failure = new AtomicReference<Throwable>();
+        var writing = new AtomicBoolean(true);
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            String url = "http://site/" + (r % 2 == 0 ? "a" : "b");
+            readers[r] = Thread.ofPlatform().start(() -> {
+                try {
+                    while (writing.get()) {
+                        index.lookupStale(url).ifPresent(page -> assertTrue(page.content().startsWith(url), page.content()));
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+        }
+        for (int i = 0; i < 2_000; i++) {
+            index.put(page("http://site/a", "http://site/a " + i + " " + "a".repeat(200)));
+            index.put(page("http://site/b", "http://site/b " + i + " " + "b".repeat(120)));
+        }
+        writing.set(false);
+        for (Thread reader : readers) reader.join();
+
+        assertNull(failure.get());
+        assertTrue(segmentCount() <= 2, segmentCount() + " segments"); // the writes did compact
+    }
+
+    @Test
+    void dropsAnUnfinishedCompactionOnOpen() throws IOException {
+        var index = new SiteIndex(props());
+        index.put(page("http://site/a", "security"));
+        index.close();
+        Files.createDirectories(dir.resolve("compact"));
+        Files.write(dir.resolve("compact/pages-v2-00000.seg"), new byte[4096]);
+
+        var reopened = new SiteIndex(props());
+
+        assertEquals("security", reopened.lookup("http://site/a").orElseThrow().content());
+        assertFalse(Files.exists(dir.resolve("compact")));
+    }
+
+    @Test
+    void deletesV1SegmentsOnceTheIndexIsOpen() throws IOException {
+        Files.write(dir.resolve("pages-00000.seg"), new byte[4096]);
+        Files.write(dir.resolve("pages-00001.seg"), new byte[4096]);
+
+        var index = new SiteIndex(props());
+        index.put(page("http://site/a", "security"));
+
+        assertFalse(Files.exists(dir.resolve("pages-00000.seg")));
+        assertFalse(Files.exists(dir.resolve("pages-00001.seg")));
+        assertTrue(Files.exists(dir.resolve("pages-v2-00000.seg")));
+    }
+
+    @Test
+    void skipsErrorResponses() {
+        var index = new SiteIndex(props());
+        index.put(FetchedPage.empty("http://site/down", 503));
+        index.put(FetchedPage.empty("http://site/missing", 404));
+        index.put(FetchedPage.empty("http://site/image.png", 200));
+
+        assertTrue(index.lookupStale("http://site/down").isEmpty());
+        assertTrue(index.lookupStale("http://site/missing").isEmpty());
+        assertFalse(index.lookupStale("http://site/image.png").orElseThrow().html());
+    }
+
+    private long segmentCount() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+
+    private SiteIndexProperties props() {
+        var props = new SiteIndexProperties();
+        props.setDir(dir.toString());
+        props.setSegmentSizeBytes(4096);
+        return props;
+    }
+
+    private static FetchedPage page(String url, String content) {
+        return new FetchedPage(url, content, List.of(url));
+    }
+}
@@ -0,0 +1,51 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlBudgetTest {
+
+    @Test
+    void concurrentReservationsNeverOvershoot() {
+        var budget = new CrawlBudget(new CrawlLimits(500, 10, 50));
+        var granted = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2_000; i++) {
+                executor.submit(() -> {
+                    if (budget.tryReservePage()) granted.incrementAndGet();
+                });
+            }
+        }
+        assertEquals(500, granted.get());
+        assertEquals(500, budget.pages());
+        assertTrue(budget.exhausted());
+    }
+
+    @Test
+    void slotsAreReusableAfterRelease() {
+        var budget = new CrawlBudget(new CrawlLimits(10, 10, 2));
+        assertTrue(budget.tryReserveFrontierSlot());
+        assertTrue(budget.tryReserveFrontierSlot());
+        assertFalse(budget.tryReserveFrontierSlot());
+        budget.releaseFrontierSlot();
+        assertTrue(budget.tryReserveFrontierSlot());
+        assertFalse(budget.exhausted());
+    }
+
+    @Test
+    void duplicateResultsDoNotConsumeBudget() {
+        var state = new CrawlState("id", "java", null, new CrawlLimits(10, 2, 10), null);
+        assertTrue(state.addResult("https://example.com/a"));
+        assertFalse(state.addResult("https://example.com/a"));
+        assertTrue(state.addResult("https://example.com/b"));
+        assertFalse(state.addResult("https://example.com/c"));
+        assertEquals(2, state.resultsCount());
+        assertTrue(state.getBudget().exhausted());
+    }
+}
@@ -0,0 +1,57 @@
+package com.concurrent_web_crawler.crawler.model;
+
+import com.concurrent_web_crawler.crawler.dto.CrawlSnapshot;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ResultLogTest {
+
+    private static final CrawlLimits LIMITS = new CrawlLimits(10_000, 100, 50_000);
+
+    @Test
+    void snapshotsAreStableAndCursorReturnsOnlyNewUrls() {
+        var state = new CrawlState("c1", "java", new FingerprintVisitedSet(), LIMITS, null);
+        state.addResult("https://example.com/b");
+        state.addResult("https://example.com/a");
+        var before = CrawlSnapshot.of(state);
+
+        state.addResult("https://example.com/a");
+        state.addResult("https://example.com/c");
+        var after = CrawlSnapshot.of(state);
+
+        assertEquals(List.of("https://example.com/b", "https://example.com/a"), before.urls());
+        assertEquals(2, before.version());
+        assertEquals(3, after.version());
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(List.of("https://example.com/c"), after.since(before.version()).urls());
+        assertEquals(List.of(), after.since(3).urls());
+        assertEquals(3, after.since(0).urls().size());
+
+        state.markDone();
+        assertNotEquals(after.etag(), CrawlSnapshot.of(state).etag());
+    }
+
+    @Test
+    void subscribersAreSignalledForNewResultsAndCompletion() {
+        var state = new CrawlState("c1", "java", new FingerprintVisitedSet(), LIMITS, null);
+        var signals = new AtomicInteger();
+        Runnable listener = signals::incrementAndGet;
+        state.subscribe(listener);
+
+        state.addResult("https://example.com/a");
+        state.addResult("https://example.com/a");
+        state.markDone();
+        state.markDone();
+        assertEquals(2, signals.get());
+
+        state.unsubscribe(listener);
+        state.subscribe(listener);
+        assertEquals(3, signals.get()); // subscribing to a finished crawl signals right away
+    }
+}
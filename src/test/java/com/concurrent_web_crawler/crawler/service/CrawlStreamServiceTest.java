@@ -0,0 +1,196 @@
+package com.concurrent_web_crawler.crawler.service;
+
+import com.concurrent_web_crawler.crawler.infra.cache.CrawlStateRegistry;
+import com.concurrent_web_crawler.crawler.infra.cache.CrawlStateRegistryProperties;
+import com.concurrent_web_crawler.crawler.model.CrawlLimits;
+import com.concurrent_web_crawler.crawler.model.CrawlState;
+import com.concurrent_web_crawler.crawler.util.FingerprintVisitedSet;
+import com.concurrent_web_crawler.crawler.web.CrawlController;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class CrawlStreamServiceTest {
+
+    private static final String ROOT = "https://example.com/";
+    private static final CrawlLimits LIMITS = new CrawlLimits(100, 10, 100);
+
+    private final CrawlStateRegistry registry = new CrawlStateRegistry(new ConcurrentMapCacheManager(), new CrawlStateRegistryProperties());
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean disconnected = new AtomicBoolean();
+    private final MockMvc mvc = mvc();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void streamsResultsAsTheyAreFoundAndEndsWithDone() throws Exception {
+        var state = running("c1");
+        state.addResult(ROOT + "a");
+
+        var result = mvc.perform(get("/crawl/c1/stream")).andExpect(request().asyncStarted()).andReturn();
+        await(() -> content(result).contains(ROOT + "a"));
+        state.addResult(ROOT + "b");
+        state.addResult(ROOT + "c");
+        state.markDone(); // right after the last results: the final drain must still send them
+        result.getAsyncResult(5_000);
+
+        assertEquals(List.of("result 1 " + ROOT + "a", "result 2 " + ROOT + "b", "result 3 " + ROOT + "c", "done 3"),
+                events(result));
+        await(() -> state.getListeners().isEmpty());
+    }
+
+    @Test
+    void resumesARunningCrawlAfterSince() throws Exception {
+        var state = running("c2");
+        state.addResult(ROOT + "a");
+        state.addResult(ROOT + "b");
+
+        var result = mvc.perform(get("/crawl/c2/stream").param("since", "1")).andExpect(request().asyncStarted()).andReturn();
+        await(() -> content(result).contains(ROOT + "b"));
+        state.markDone();
+        result.getAsyncResult(5_000);
+
+        assertEquals(List.of("result 2 " + ROOT + "b", "done 2"), events(result));
+    }
+
+    @Test
+    void replaysAFinishedCrawlFromLastEventId() throws Exception {
+        var state = running("c3");
+        for (String path : List.of("a", "b", "c")) state.addResult(ROOT + path);
+        state.markDone();
+
+        var result = mvc.perform(get("/crawl/c3/stream").param("since", "0").header("Last-Event-ID", "2"))
+                .andExpect(request().asyncStarted()).andReturn();
+        result.getAsyncResult(5_000);
+
+        assertEquals(List.of("result 3 " + ROOT + "c", "done 3"), events(result));
+    }
+
+    @Test
+    void clientDisconnectUnsubscribesWithoutStoppingTheCrawl() throws Exception {
+        var state = running("c4");
+        state.addResult(ROOT + "a");
+
+        var result = mvc.perform(get("/crawl/c4/stream")).andExpect(request().asyncStarted()).andReturn();
+        await(() -> content(result).contains(ROOT + "a"));
+        disconnected.set(true);
+        state.addResult(ROOT + "b"); // the next write fails and the subscriber goes away
+
+        await(() -> state.getListeners().isEmpty());
+        assertFalse(state.done());
+        assertEquals(List.of(ROOT + "a", ROOT + "b"), state.results());
+    }
+
+    private CrawlState running(String id) {
+        var state = new CrawlState(id, "java", new FingerprintVisitedSet(), LIMITS, (_, s) -> registry.complete(s));
+        registry.register(state);
+        return state;
+    }
+
+    private MockMvc mvc() {
+        var service = new CrawlStreamService(registry, executor);
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofSeconds(30));
+        // once the client is gone, writes to the response fail as they would on a closed socket
+        Filter dropOnDisconnect = (req, res, chain) -> chain.doFilter(req, new HttpServletResponseWrapper((HttpServletResponse) res) {
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                return new DisconnectingStream(super.getOutputStream());
+            }
+        });
+        return MockMvcBuilders.standaloneSetup(new CrawlController(null, service, null)).addFilters(dropOnDisconnect).build();
+    }
+
+    private final class DisconnectingStream extends ServletOutputStream {
+        private final ServletOutputStream out;
+
+        DisconnectingStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (disconnected.get()) throw new IOException("Broken pipe");
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (disconnected.get()) throw new IOException("Broken pipe");
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (disconnected.get()) throw new IOException("Broken pipe");
+            out.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+        }
+    }
+
+    private static String content(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // "<event> <id> <data>" per result event, "<event> <id>" for done
+    private static List<String> events(MvcResult result) {
+        List<String> events = new ArrayList<>();
+        for (String block : content(result).split("\n\n")) {
+            String name = null, id = null, data = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("event:")) name = line.substring(6);
+                else if (line.startsWith("id:")) id = line.substring(3);
+                else if (line.startsWith("data:")) data = line.substring(5);
+            }
+            if (name == null) continue;
+            events.add("result".equals(name) ? name + " " + id + " " + data : name + " " + id);
+        }
+        return events;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HtmlLinkTokenizerTest {
+
+    @Test
+    void reportsLinksWithAnchorText() {
+        List<String> links = new ArrayList<>();
+        HtmlUrlUtils.forEachLink("""
+                <a href="/a">Read <b>more</b>
+                  about security</a> <area href="/map"><a href="/b">unclosed <a href=/c>last""",
+                HtmlLinkTokenizer.LinkSink.withAnchors((href, anchor) -> links.add(href + "|" + anchor)));
+
+        assertEquals(List.of("/a|Read more about security", "/map|", "/b|unclosed", "/c|last"), links);
+    }
+
+    @Test
+    void reportsBaseHrefSeparately() {
+        List<String> bases = new ArrayList<>();
+        List<String> links = new ArrayList<>();
+        HtmlUrlUtils.forEachLink("<head><BASE HREF='/docs/'></head><a href=\"intro\">Intro</a>", new HtmlLinkTokenizer.LinkSink() {
+            @Override
+            public void onLink(String href) {
+                links.add(href);
+            }
+
+            @Override
+            public void onBase(String href) {
+                bases.add(href);
+            }
+        });
+
+        assertEquals(List.of("/docs/"), bases);
+        assertEquals(List.of("intro"), links);
+    }
+}
@@ -0,0 +1,77 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HtmlStreamScannerTest {
+
+    private static final String PAGE = """
+            <html><body><p>Built on Spring Boot</p>
+            <a href="/docs/getting-started">Getting <b>started</b></a>
+            <a href='/blog'>Blog</a></body></html>""";
+
+    @Test
+    void findsKeywordAndLinksStraddlingEveryChunkEdge() throws IOException {
+        var matcher = KeywordMatcher.compile("spring boot");
+        for (int chunkSize = 1; chunkSize <= PAGE.length(); chunkSize++) {
+            List<String> links = new ArrayList<>();
+
+            boolean matched = scan(new StringReader(PAGE), matcher, links, chunkSize);
+
+            assertTrue(matched, "chunk size " + chunkSize);
+            assertEquals(List.of("/docs/getting-started|Getting started", "/blog|Blog"), links, "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    void shortReadsBehaveLikeFullChunks() throws IOException {
+        var matcher = KeywordMatcher.compile("getting started");
+        List<String> links = new ArrayList<>();
+
+        // the keyword only appears with the <b> tag stripped, which the scanner does not do
+        boolean matched = scan(new TrickleReader(new StringReader(PAGE), 3), matcher, links, 16);
+
+        assertFalse(matched);
+        assertEquals(List.of("/docs/getting-started|Getting started", "/blog|Blog"), links);
+    }
+
+    @Test
+    void keywordSplitAcrossDistantChunksDoesNotMatch() throws IOException {
+        var matcher = KeywordMatcher.compile("java");
+        String page = "jav" + "x".repeat(10) + "a";
+        for (int chunkSize = 1; chunkSize <= page.length(); chunkSize++) {
+            assertFalse(scan(new StringReader(page), matcher, new ArrayList<>(), chunkSize), "chunk size " + chunkSize);
+        }
+    }
+
+    private static boolean scan(Reader in, KeywordMatcher matcher, List<String> links, int chunkSize) throws IOException {
+        var tokenizer = new HtmlLinkTokenizer(HtmlLinkTokenizer.LinkSink.withAnchors(
+                (href, anchor) -> links.add(href + "|" + anchor)));
+        return HtmlStreamScanner.scan(in, matcher, tokenizer, chunkSize);
+    }
+
+    /** Hands out at most {@code max} chars per read, like a slow socket. */
+    private static final class TrickleReader extends FilterReader {
+        private final int max;
+
+        TrickleReader(Reader in, int max) {
+            super(in);
+            this.max = max;
+        }
+
+        @Override
+        public int read(char[] buf, int off, int len) throws IOException {
+            return super.read(buf, off, Math.min(len, max));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeywordMatcherTest {
+
+    @Test
+    void foldsCaseOnEveryInputForm() {
+        var matcher = KeywordMatcher.compile("Spring Boot");
+        String text = "built with SPRING bOOT 3";
+
+        assertTrue(matcher.matches(text));
+        assertEquals(11, matcher.indexIn(text.toCharArray(), 0, text.length()));
+        assertEquals(11, matcher.indexIn(bytes(text), 0, text.length()));
+    }
+
+    @Test
+    void findsMatchesAtTheStartAndEndOfTheText() {
+        var matcher = KeywordMatcher.compile("java");
+        String text = "Java and JAVA";
+
+        assertEquals(0, matcher.indexIn(text, 0, text.length()));
+        assertEquals(9, matcher.indexIn(text, 1, text.length()));
+        assertEquals(9, matcher.indexIn(bytes(text), 1, text.length()));
+        assertEquals(-1, matcher.indexIn(text, 1, text.length() - 1));
+    }
+
+    @Test
+    void textShorterThanThePatternNeverMatches() {
+        var matcher = KeywordMatcher.compile("keyword");
+
+        assertFalse(matcher.matches(""));
+        assertFalse(matcher.matches("keywor"));
+        assertEquals(-1, matcher.indexIn(bytes("eyword"), 0, 6));
+        assertEquals(-1, matcher.indexIn("a keyword".toCharArray(), 2, 8));
+    }
+
+    @Test
+    void handlesRepeatedPrefixes() {
+        assertEquals(3, KeywordMatcher.compile("aab").indexIn("aaaaab", 0, 6));
+        assertEquals(2, KeywordMatcher.compile("abab").indexIn("ababab", 1, 6));
+        assertEquals(4, KeywordMatcher.compile("AAAB").indexIn(bytes("aaaaaaab"), 0, 8));
+        assertFalse(KeywordMatcher.compile("aaab").matches("aabaabaab"));
+    }
+
+    @Test
+    void matchesNonAsciiKeywordsOnCharsOnly() {
+        var matcher = KeywordMatcher.compile("Über Straße");
+
+        assertTrue(matcher.matches("alles über straße hier"));
+        assertTrue(matcher.matches("ÜBER STRAßE"));
+        assertFalse(matcher.matches("uber strasse"));
+        assertFalse(matcher.supportsBytes());
+        assertThrows(IllegalStateException.class, () -> matcher.indexIn(bytes("über"), 0, 5));
+    }
+
+    @Test
+    void asciiKeywordSkipsMultiByteText() {
+        var matcher = KeywordMatcher.compile("cafe");
+        byte[] utf8 = bytes("café — un café or a CAFE");
+
+        assertTrue(matcher.supportsBytes());
+        assertEquals(utf8.length - 4, matcher.indexIn(utf8, 0, utf8.length));
+    }
+
+    @Test
+    void charsSharingAShiftBucketStillMatch() {
+        // 'a' (0x61) and 'š' (0x161) land in the same slot of the 256-entry shift table
+        var matcher = KeywordMatcher.compile("ašb");
+
+        assertEquals(2, matcher.indexIn("xxašb", 0, 5));
+        assertEquals(-1, matcher.indexIn("xxaab", 0, 5));
+    }
+
+    @Test
+    void agreesWithANaiveSearch() {
+        var random = new Random(42);
+        String alphabet = "abAB";
+        for (int round = 0; round < 2_000; round++) {
+            String keyword = randomString(random, alphabet, 1 + random.nextInt(4));
+            String text = randomString(random, alphabet, random.nextInt(20));
+            var matcher = KeywordMatcher.compile(keyword);
+            int expected = text.toLowerCase().indexOf(keyword.toLowerCase());
+
+            assertEquals(expected, matcher.indexIn(text, 0, text.length()), keyword + " in " + text);
+            assertEquals(expected, matcher.indexIn(bytes(text), 0, text.length()), keyword + " in " + text);
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        var sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
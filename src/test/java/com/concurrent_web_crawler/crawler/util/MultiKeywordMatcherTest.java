@@ -0,0 +1,39 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiKeywordMatcherTest {
+
+    @Test
+    void findsOverlappingKeywordsCaseInsensitively() {
+        var matcher = MultiKeywordMatcher.compile(List.of("he", "she", "his", "hers", "four", "ushers"));
+
+        BitSet found = matcher.matchAll("aHiS usHERS");
+
+        assertEquals("{0, 1, 2, 3, 5}", found.toString());
+    }
+
+    @Test
+    void agreesWithContainsKeyword() {
+        var keywords = List.of("security", "java virtual", "spring boot");
+        var matcher = MultiKeywordMatcher.compile(keywords);
+        String html = "<html><body><p>Java Virtual threads</p><a href=\"/security\">x</a></body></html>";
+
+        BitSet found = matcher.matchAll(html);
+
+        for (int i = 0; i < keywords.size(); i++) {
+            assertEquals(HtmlUrlUtils.containsKeyword(html, keywords.get(i)), found.get(i), keywords.get(i));
+        }
+    }
+
+    @Test
+    void emptyKeywordSetMatchesNothing() {
+        assertTrue(MultiKeywordMatcher.compile(List.of()).matchAll("anything").isEmpty());
+    }
+}
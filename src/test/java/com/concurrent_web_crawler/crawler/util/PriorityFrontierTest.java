@@ -0,0 +1,30 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityFrontierTest {
+
+    @Test
+    void pollsMostPromisingFirstAndFifoWithinALevel() {
+        var frontier = new PriorityFrontier();
+        frontier.offer(new PriorityFrontier.Entry("/deep", 6));
+        frontier.offer(new PriorityFrontier.Entry("/shallow-1", 1));
+        frontier.offer(new PriorityFrontier.Entry("/anchor", 6), PriorityFrontier.priority(6, false, true, false));
+        frontier.offer(new PriorityFrontier.Entry("/shallow-2", 1));
+        frontier.offer(new PriorityFrontier.Entry("/matched-parent", 6), PriorityFrontier.priority(6, true, false, false));
+
+        List<String> order = new ArrayList<>();
+        for (var e = frontier.poll(); e != null; e = frontier.poll()) order.add(e.url());
+
+        assertEquals(List.of("/anchor", "/matched-parent", "/shallow-1", "/shallow-2", "/deep"), order);
+        assertTrue(frontier.isEmpty());
+        assertNull(frontier.peek());
+    }
+}
@@ -0,0 +1,66 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UrlCanonicalizerTest {
+
+    @Test
+    void agreesWithLegacyNormalization() {
+        var hrefs = List.of(
+                "/", "/about", "about", "./about", "/a/b/../c", "/a/./b/", "/a/b/..", "docs/intro.html",
+                "/search?q=java", "/page#section", "https://example.com/x/y",
+                "https://example.com", "https://example.com/a?x=1#frag", "//example.com/protocol-relative",
+                "/path;params", "/a/b/c/", "/~user/",
+                "https://other.com/x", "http://example.com/x", "https://example.com:8443/x",
+                "//cdn.example.net/lib.js", "ftp://example.com/file", "tel:+123456"
+        );
+        for (String base : List.of("https://example.com", "https://example.com/", "https://example.com/docs")) {
+            var canonicalizer = new UrlCanonicalizer(base);
+            for (String href : hrefs) {
+                assertEquals(HtmlUrlUtils.normalizeAndFilterUrl(base, href), canonicalizer.canonicalize(href),
+                        () -> base + " + " + href);
+            }
+        }
+    }
+
+    @Test
+    void canonicalizesBeyondLegacyNormalization() {
+        var canonicalizer = new UrlCanonicalizer("https://example.com");
+
+        assertEquals("https://example.com/a/~user/%E2%82%AC/%2F?a=1&b=2",
+                canonicalizer.canonicalize("HTTPS://Example.COM:443/a/%7euser/%e2%82%ac/%2f?b=2&a=1#top"));
+        assertEquals("https://example.com/a%20b/%C3%BC", canonicalizer.canonicalize("/a b/ü"));
+        assertEquals("https://example.com/%C3%A9t%C3%A9", canonicalizer.canonicalize("/%c3%a9t%c3%a9"));
+        assertEquals("https://example.com/x", canonicalizer.canonicalize("/../x"));
+        assertEquals("https://example.com/?a=2&a=1&b", canonicalizer.canonicalize("/?b&&a=2&a=1"));
+        assertEquals("https://example.com/", canonicalizer.canonicalize("/?"));
+
+        var docs = new UrlCanonicalizer("https://example.com/docs");
+        assertEquals("https://example.com/docs", docs.canonicalize(""));
+        assertEquals("https://example.com/docs?page=2", docs.canonicalize("?page=2"));
+        assertEquals("https://example.com/100%25", canonicalizer.canonicalize("/100%"));
+        assertNull(canonicalizer.canonicalize("https://user@example.com/"));
+        assertNull(canonicalizer.canonicalize("https://example.com.evil.net/"));
+    }
+
+    @Test
+    void resolvesAgainstPageAndBaseHref() {
+        var canonicalizer = new UrlCanonicalizer("https://example.com");
+        String page = "https://example.com/blog/post/index.html?x=1";
+
+        assertEquals("https://example.com/blog/img/a.png", canonicalizer.canonicalize(page, "../img/a.png"));
+        assertEquals("https://example.com/blog/post/index.html?y=2", canonicalizer.canonicalize(page, "?y=2"));
+        assertEquals("https://example.com/blog/post/index.html?x=1", canonicalizer.canonicalize(page, "#c"));
+
+        var links = new ArrayList<String>();
+        HtmlUrlUtils.forEachLink("<base href=\"/docs/v2/\"><a href=intro>x</a><area href=\"../v1/\">",
+                new ResolvingLinkSink(canonicalizer, page, links::add));
+        assertEquals(List.of("https://example.com/docs/v2/intro", "https://example.com/docs/v1/"), links);
+    }
+}
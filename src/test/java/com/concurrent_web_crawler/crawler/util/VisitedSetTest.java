@@ -0,0 +1,60 @@
+package com.concurrent_web_crawler.crawler.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VisitedSetTest {
+
+    @Test
+    void fingerprintSetGrowsAndDeduplicates() {
+        var set = new FingerprintVisitedSet(16);
+
+        for (int i = 0; i < 50_000; i++) assertTrue(set.add("https://example.com/p/" + i));
+        for (int i = 0; i < 50_000; i++) assertFalse(set.add("https://example.com/p/" + i));
+
+        assertEquals(50_000, set.size());
+        assertTrue(set.contains("https://example.com/p/49999"));
+        assertFalse(set.contains("https://example.com/p/50000"));
+        assertTrue(set.memoryBytes() <= 256 * 1024 * 8);
+    }
+
+    @Test
+    void bloomSetStaysUnderConfiguredFalsePositiveRate() {
+        var set = new BloomVisitedSet(1_000, 0.01);
+
+        for (int i = 0; i < 100_000; i++) set.add("https://example.com/in/" + i);
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(set.contains("https://example.com/in/" + i));
+            if (set.contains("https://example.com/out/" + i)) falsePositives++;
+        }
+
+        // 1% of 100k probes, plus sampling noise
+        assertTrue(falsePositives < 1_200, "false positives: " + falsePositives);
+        assertTrue(set.falsePositiveRate() < 0.01);
+    }
+
+    @Test
+    void exactlyOneConcurrentClaimWins() throws Exception {
+        var set = new FingerprintVisitedSet(16);
+        var wins = new AtomicInteger();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (set.add("https://example.com/" + i)) wins.incrementAndGet();
+                    }
+                });
+            }
+        }
+        assertEquals(10_000, wins.get());
+        assertEquals(10_000, set.size());
+    }
+}